@@ -0,0 +1,81 @@
+package game.bench;
+
+import game.models.ai.BookStrategy;
+import game.models.ai.HeuristicStrategy;
+import game.models.ai.MctsSearch;
+import game.models.ai.MctsStrategy;
+import game.models.ai.MoveResult;
+import game.models.ai.MoveStrategy;
+import game.models.ai.NegamaxStrategy;
+import game.models.engine.BoardSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A whole computer turn on an early game position. The searches are limited by depth or playouts rather than time,
+ * so the benchmark measures how long a fixed amount of work takes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AiTurnBenchmark {
+
+    @Param({"3:3", "4:3", "4:4", "7:5", "11:5", "15:5", "19:5"})
+    public String size;
+
+    @Param({"heuristic", "negamax-depth-4", "mcts-10k", "book"})
+    public String strategy;
+
+    private MoveStrategy moveStrategy;
+    private BoardSnapshot snapshot;
+
+    @Setup
+    public void setUp() {
+
+        int dimension = Positions.dimension(size);
+
+        snapshot = new BoardSnapshot(Positions.randomMidGame(dimension, Positions.amountToWin(size), 0.15, 3));
+
+        switch (strategy) {
+            case "heuristic":
+                moveStrategy = new HeuristicStrategy(new Random(1));
+                break;
+            case "negamax-depth-4":
+                moveStrategy = new NegamaxStrategy(4, 1, 0);
+                break;
+            case "mcts-10k":
+                MctsStrategy mcts = new MctsStrategy(0);
+                MctsSearch search = mcts.getSearch();
+
+                search.setPlayoutLimit(10_000);
+                search.setSeed(1);
+                moveStrategy = mcts;
+                break;
+            case "book":
+                moveStrategy = new BookStrategy(new NegamaxStrategy(4, 1, 0));
+                break;
+            default:
+                throw new IllegalArgumentException(strategy);
+        }
+    }
+
+    @Benchmark
+    public MoveResult turn() {
+        return moveStrategy.selectMove(snapshot, snapshot.getMoveCount() % 2);
+    }
+}
@@ -0,0 +1,84 @@
+package game.bench;
+
+import game.models.engine.Board;
+import game.models.engine.CandidateMoves;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing the moves to try on random positions, every free cell against the candidates near the stones,
+ * and the cost of keeping the candidates up to date as moves are made and taken back
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveGenerationBenchmark {
+
+    @Param({"3:3", "4:3", "5:4", "7:5", "9:5", "11:5", "15:5", "19:5"})
+    public String size;
+
+    @Param({"0.1", "0.3"})
+    public double fill;
+
+    @Param({"1", "2"})
+    public int radius;
+
+    private Board board;
+    private CandidateMoves candidates;
+    private int[] moves;
+
+    @Setup
+    public void setUp() {
+        board = Positions.randomMidGame(Positions.dimension(size), Positions.amountToWin(size), fill, 7);
+        candidates = new CandidateMoves(board.getDimension(), radius);
+        candidates.reset(board);
+        moves = new int[board.getCellCount()];
+    }
+
+    @Benchmark
+    public int freeCells() {
+        int count = 0;
+
+        for (int cell = board.nextFreeCell(0); cell != -1; cell = board.nextFreeCell(cell + 1))
+            moves[count++] = cell;
+
+        return count;
+    }
+
+    @Benchmark
+    public int candidateCells() {
+        int count = 0;
+
+        for (int cell = candidates.nextCandidate(board, 0); cell != -1; cell = candidates.nextCandidate(board, cell + 1))
+            moves[count++] = cell;
+
+        return count;
+    }
+
+    /**
+     * Adds and removes a stone, as every node of a search does
+     */
+    @Benchmark
+    public boolean candidateUpdate() {
+        int cell = board.nextFreeCell(0);
+
+        candidates.add(cell);
+        candidates.remove(cell);
+
+        return candidates.isNearStone(cell);
+    }
+}
@@ -0,0 +1,60 @@
+package game.bench;
+
+import game.models.engine.Board;
+
+import java.util.Random;
+
+/**
+ * Builds the boards the benchmarks run on
+ */
+final class Positions {
+
+    private Positions() {
+    }
+
+    /**
+     * Plays random moves until part of the board is filled, without either side winning
+     * @param dimension The dimension of the board
+     * @param amountToWin The amount needed to win
+     * @param fill The fraction of the cells to play on, from 0 to 1
+     * @param seed Seeds the moves so every run benchmarks the same position
+     * @return the board
+     */
+    static Board randomMidGame(int dimension, int amountToWin, double fill, long seed) {
+
+        Random random = new Random(seed);
+        Board board = new Board(dimension, amountToWin);
+        int target = (int) (board.getCellCount() * fill);
+
+        //Moves that would win are skipped, small boards may fill up before reaching the target
+        for (int attempt = 0; board.getMoveCount() < target && attempt < board.getCellCount() * 20; attempt++) {
+
+            int cell = random.nextInt(board.getCellCount());
+
+            if (!board.isFree(cell) || board.isWinningCell(cell, board.getSideToMove()))
+                continue;
+
+            board.play(cell);
+        }
+
+        return board;
+    }
+
+    /**
+     *
+     * @param size A board size written as dimension:amountToWin
+     * @return the dimension
+     */
+    static int dimension(String size) {
+        return Integer.parseInt(size.split(":")[0]);
+    }
+
+    /**
+     *
+     * @param size A board size written as dimension:amountToWin
+     * @return the amount needed to win
+     */
+    static int amountToWin(String size) {
+        return Integer.parseInt(size.split(":")[1]);
+    }
+}
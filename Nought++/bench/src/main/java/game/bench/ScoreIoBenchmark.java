@@ -0,0 +1,130 @@
+package game.bench;
+
+import game.models.io.GameIOHelper;
+import game.models.io.ScoreLog;
+import game.models.io.ScoreWriter;
+import game.models.logic.Player;
+import game.models.model.RecentScore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading and saving the recent scores file in a temporary folder, so the player's own scores are never touched.
+ * GameIOHelper.saveGameScores only queues a score for the writer thread, so saves are measured until the score
+ * has been written instead
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoreIoBenchmark {
+
+    @Param({"100", "10000"})
+    public int scoreCount;
+
+    private Path directory;
+    private RecentScore score;
+    private ScoreWriter writer; //Saves to the recent scores log, a save is timed until it has been written
+    private ScoreLog appendLog; //A log of its own, appended to without the writer thread
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+
+        directory = Files.createTempDirectory("nought-bench");
+        GameIOHelper.setWorkingDirectory(directory);
+
+        for (int i = 0; i < scoreCount; i++)
+            GameIOHelper.saveGameScores(newScore("Player " + (i % 50), i));
+
+        score = newScore("Bench", 1);
+    }
+
+    /**
+     * Puts the file back to its starting size so saves don't make later loads slower
+     */
+    @Setup(Level.Iteration)
+    public void resetFile() throws IOException {
+        GameIOHelper.deleteRecentScores();
+        Files.createDirectories(directory);
+
+        for (int i = 0; i < scoreCount; i++)
+            GameIOHelper.saveGameScores(newScore("Player " + (i % 50), i));
+
+        //Writes the scores out, the log mustn't have two writers
+        GameIOHelper.closeScoreWriter();
+
+        writer = new ScoreWriter(directory.resolve(GameIOHelper.SCORE_LOG_FILE));
+        appendLog = ScoreLog.open(directory.resolve("Append.log"));
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeLogs() throws IOException {
+        writer.close();
+        appendLog.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        GameIOHelper.deleteRecentScores();
+        GameIOHelper.setWorkingDirectory(null);
+    }
+
+    @Benchmark
+    public List<RecentScore> load() throws IOException {
+        return GameIOHelper.loadRecentScores();
+    }
+
+    /**
+     * A save as the game makes it, waiting until the writer thread has appended and synced it
+     */
+    @Benchmark
+    public void saveAndFlush() throws InterruptedException {
+        writer.save(score);
+        writer.flush();
+    }
+
+    /**
+     * What the writer thread does with a batch of one score
+     */
+    @Benchmark
+    public void append() throws IOException {
+        appendLog.append(score);
+        appendLog.flush();
+    }
+
+    /**
+     *
+     * @param name The name of the first player
+     * @param seed Varies the scores and board size
+     * @return a score between the player and the computer
+     */
+    private static RecentScore newScore(String name, int seed) {
+
+        Player player = new Player(name, null);
+        Player computer = new Player("Computer", null);
+
+        player.setScore(seed % 7);
+        computer.setScore(seed % 5);
+
+        return new RecentScore(player, computer, 3 + seed % 2);
+    }
+}
@@ -0,0 +1,81 @@
+package game.bench;
+
+import game.models.engine.Board;
+import game.models.engine.WinLines;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checking for a win on random mid game positions, both after a move, which is what the game and the searches do,
+ * and over the whole board
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WinCheckBenchmark {
+
+    @Param({"3:3", "4:3", "4:4", "5:4", "7:5", "9:5", "11:5", "15:5", "19:5"})
+    public String size;
+
+    private Board board;
+    private WinLines winLines;
+    private int[] freeCells;
+    private int next;
+
+    @Setup
+    public void setUp() {
+
+        board = Positions.randomMidGame(Positions.dimension(size), Positions.amountToWin(size), 0.5, 42);
+        winLines = board.getWinLines();
+        freeCells = new int[board.countFreeCells()];
+
+        int count = 0;
+
+        for (int cell = board.nextFreeCell(0); cell != -1; cell = board.nextFreeCell(cell + 1))
+            freeCells[count++] = cell;
+    }
+
+    /**
+     * Plays a move, checks the lines through it and takes it back
+     */
+    @Benchmark
+    public boolean winAfterMove() {
+
+        int cell = freeCells[next++ % freeCells.length];
+        boolean won = board.play(cell);
+
+        board.undo();
+
+        return won;
+    }
+
+    /**
+     * Checks if a free cell would win without playing it, as move ordering does
+     */
+    @Benchmark
+    public boolean winningCell() {
+        return board.isWinningCell(freeCells[next++ % freeCells.length], board.getSideToMove());
+    }
+
+    /**
+     * Scans every line of the board for both sides
+     */
+    @Benchmark
+    public int fullBoardScan() {
+        return winLines.findWinningLine(board, Board.PLAYER_ONE) + winLines.findWinningLine(board, Board.PLAYER_TWO);
+    }
+}
@@ -0,0 +1,105 @@
+package game.models.ai;
+
+import game.models.engine.BoardSnapshot;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Runs the computer's searches on one reusable background thread, one search at a time in the order they were asked for.
+ * Each search is handed back as a CompletableFuture. Cancelling it stops the search if it's running, or skips it
+ * if it hasn't started, so the thread moves on straight away and a cancelled result is never delivered
+ */
+public class AiExecutor {
+
+    private final ExecutorService WORKER; //The thread the searches run on
+    private final Set<CompletableFuture<?>> PENDING; //The searches that are queued or running
+
+    private volatile CompletableFuture<?> running; //The search the worker is running, null if it's idle
+
+    /**
+     *
+     * @param threadName The name of the worker thread, shown in thread dumps and profilers
+     */
+    public AiExecutor(String threadName) {
+        this.WORKER = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, threadName);
+
+            //Doesn't keep the application running once its windows have been closed
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        this.PENDING = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Queues a search
+     * @param search Runs the search and returns its result
+     * @param stop Makes the search return early, it's called from the thread that cancels the future
+     * @param resetStop Clears a stop left by an earlier search, the search itself mustn't clear it
+     * @param <T> The type of the result
+     * @return the result of the search, cancel it to stop the search
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> search, Runnable stop, Runnable resetStop) {
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        //Only the running search is stopped, stopping a queued one could stop the search ahead of it instead
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled() && running == future)
+                stop.run();
+
+            PENDING.remove(future);
+        });
+
+        PENDING.add(future);
+
+        WORKER.execute(() -> {
+
+            //Cleared before the search can be stopped, a cancel from here on either stops it or skips it
+            resetStop.run();
+            running = future;
+
+            try {
+                //A search cancelled while it was queued is skipped
+                if (!future.isDone())
+                    future.complete(search.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                running = null;
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Queues a search for a strategy's move
+     * @param strategy The strategy to pick the move with
+     * @param board The board to pick a move on
+     * @param side The side to move, Board.PLAYER_ONE or Board.PLAYER_TWO
+     * @return the picked move, cancel it to stop the strategy
+     */
+    public CompletableFuture<MoveResult> selectMove(MoveStrategy strategy, BoardSnapshot board, int side) {
+        return submit(() -> strategy.selectMove(board, side), strategy::stop, strategy::resetStop);
+    }
+
+    /**
+     * Stops the running search and cancels the queued ones, so nothing is left waiting on a result that never comes.
+     * The executor can't be used afterwards
+     */
+    public void shutdown() {
+
+        //The running search is stopped by its own cancel
+        for (CompletableFuture<?> search : PENDING)
+            search.cancel(false);
+
+        WORKER.shutdownNow();
+    }
+}
@@ -0,0 +1,66 @@
+package game.models.ai;
+
+import game.models.engine.Board;
+import game.models.engine.BoardSnapshot;
+
+/**
+ * Plays perfectly and instantly from an OpeningBook on boards small enough to have been solved offline,
+ * and falls back to another strategy for any position the book doesn't hold
+ */
+public class BookStrategy implements MoveStrategy {
+
+    public static final String NAME = "book";
+
+    private final MoveStrategy FALLBACK; //Picks the moves the book doesn't have
+    private OpeningBook book; //The book of the last board size asked about
+    private Board scratch; //The board the snapshot is copied into, reused from move to move
+
+    /**
+     *
+     * @param fallback The strategy to use when the position is not in the book
+     */
+    public BookStrategy(MoveStrategy fallback) {
+        this.FALLBACK = fallback;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public MoveResult selectMove(BoardSnapshot snapshot, int side) {
+
+        long start = System.nanoTime();
+
+        if (book == null || scratch == null || scratch.getDimension() != snapshot.getDimension()
+                || scratch.getAmountNeededToWin() != snapshot.getAmountNeededToWin())
+            book = OpeningBook.forBoard(snapshot.getDimension(), snapshot.getAmountNeededToWin());
+
+        scratch = snapshot.toBoard(scratch);
+        int move = book.getBestMove(scratch, side);
+
+        if (move == -1)
+            return FALLBACK.selectMove(snapshot, side);
+
+        return new MoveResult(move, 1, scratch.countFreeCells(), System.nanoTime() - start);
+    }
+
+    @Override
+    public void stop() {
+        FALLBACK.stop();
+    }
+
+    @Override
+    public void resetStop() {
+        FALLBACK.resetStop();
+    }
+
+    /**
+     *
+     * @return the strategy used when the position is not in the book
+     */
+    public MoveStrategy getFallback() {
+        return FALLBACK;
+    }
+}
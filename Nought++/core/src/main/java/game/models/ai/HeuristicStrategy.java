@@ -0,0 +1,90 @@
+package game.models.ai;
+
+import game.models.engine.Board;
+import game.models.engine.BoardSnapshot;
+
+import java.util.Random;
+
+/**
+ * The computer's original strategy. It only looks one move ahead: it wins if it can, otherwise it blocks
+ * the other side from winning, otherwise it plays at random. On an empty board with a middle cell it plays
+ * there half the time
+ */
+public class HeuristicStrategy implements MoveStrategy {
+
+    public static final String NAME = "heuristic";
+
+    private final Random RANDOM; //Picks the move when there is nothing to win or block
+    private Board scratch; //The board moves are tried on, reused from move to move
+
+    public HeuristicStrategy() {
+        this(new Random());
+    }
+
+    /**
+     *
+     * @param random The generator used to pick random moves, seed it to repeat games
+     */
+    public HeuristicStrategy(Random random) {
+        this.RANDOM = random;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public MoveResult selectMove(BoardSnapshot snapshot, int side) {
+
+        long start = System.nanoTime();
+        int move;
+
+        if (snapshot.isEmpty())
+            move = getFirstMove(snapshot);
+        else
+            move = getNextMove(snapshot, side);
+
+        return new MoveResult(move, snapshot.getCellCount() - snapshot.getMoveCount(), 1, System.nanoTime() - start);
+    }
+
+    /**
+     * Tries every free cell for both sides to find a win or a block
+     * @param snapshot The board to pick on
+     * @param side The side to move
+     * @return the index of the cell to play on
+     */
+    private int getNextMove(BoardSnapshot snapshot, int side) {
+
+        Board board = scratch = snapshot.toBoard(scratch);
+
+        //The side to move prioritises winning first, then blocking the other side
+        for (int i = 0; i < 2; i++) {
+            int target = i == 0 ? side : 1 - side;
+
+            for (int cell = board.nextFreeCell(0); cell != -1; cell = board.nextFreeCell(cell + 1))
+                if (board.isWinningCell(cell, target))
+                    return cell;
+        }
+
+        //If it can't win and can't block then it gets a random move
+        return RandomStrategy.randomFreeCell(snapshot, RANDOM);
+    }
+
+    /**
+     * I wouldn't want the computer to always play the midpoint if the grid is empty and it's the computers turn,
+     * so it randomly decides if it should
+     * @param snapshot The empty board
+     * @return the index of the first cell to play on
+     */
+    private int getFirstMove(BoardSnapshot snapshot) {
+
+        int dimension = snapshot.getDimension();
+
+        //If the grid is not even then it means we can pick a perfect midpoint
+        if (dimension % 2 != 0 && RANDOM.nextBoolean())
+            return (dimension / 2) * dimension + dimension / 2;
+
+        return RandomStrategy.randomFreeCell(snapshot, RANDOM);
+    }
+}
@@ -0,0 +1,416 @@
+package game.models.ai;
+
+import game.models.engine.Board;
+import game.models.engine.CandidateMoves;
+
+/**
+ * A Monte Carlo tree search using UCT. Each iteration walks down the tree picking the child with the best upper
+ * confidence bound, adds the children of the leaf it reaches and plays a random game out from there,
+ * then adds the result to every node it walked through. The move that was tried the most is played.
+ * On large boards a node only gets children for the cells near a stone.
+ * The tree is stored in primitive arrays that are allocated once, and playouts run on the bitboard of a
+ * private board, so iterations don't allocate
+ */
+public class MctsSearch {
+
+    public static final int DEFAULT_NODE_CAPACITY = 1 << 20; //The amount of nodes the tree can grow to
+    private static final double EXPLORATION = Math.sqrt(2); //How strongly the search favours rarely tried moves
+
+    private final int NODE_CAPACITY; //The amount of nodes the tree can grow to
+
+    //The tree, one entry per node. The children of a node are stored next to each other
+    private final int[] NODE_MOVE; //The cell played to reach the node
+    private final int[] NODE_FIRST_CHILD; //The index of the first child, -1 if the node has not been expanded
+    private final int[] NODE_CHILD_COUNT; //The amount of children
+    private final int[] NODE_VISITS; //The amount of playouts that have passed through the node
+    //The total result of those playouts for the side that played the move, 1 a win, 0.5 a draw. A float stops
+    //adding a half once it passes 2^24
+    private final double[] NODE_WINS;
+    private final boolean[] NODE_TERMINAL; //Set if the move ended the game
+
+    private Board board; //The search's own copy of the board, reused from search to search
+    private int[] path; //The nodes walked through in the current iteration
+    private int[] freeCells; //The free cells during a playout
+    private int rootUndoCount; //The amount of moves the root board can undo, iterations undo back down to it
+    private CandidateMoves candidates; //The cells near a stone at the node being walked through
+    private int candidateRadius; //How far from a stone a child can be on a large board, 0 for every free cell
+    private boolean pruneMoves; //Set if the current search only expands candidate moves
+
+    private long playoutLimit; //The amount of playouts to run, 0 for no limit
+    private long timeLimit; //The amount of milliseconds a search may take, 0 for no limit
+    private long randomState; //The state of the xorshift generator used by playouts
+
+    private int nodeCount; //The amount of nodes in the tree
+    private long playoutCount; //The amount of playouts run by the last search
+    private long elapsedNanos; //How long the last search took
+    private volatile boolean stopRequested; //Set from another thread to make the current search return early
+
+    /**
+     * Creates a search with the default tree size
+     * @param playoutLimit The amount of playouts to run, 0 for no limit
+     */
+    public MctsSearch(long playoutLimit) {
+        this(playoutLimit, DEFAULT_NODE_CAPACITY);
+    }
+
+    /**
+     *
+     * @param playoutLimit The amount of playouts to run, 0 for no limit
+     * @param nodeCapacity The amount of nodes the tree can grow to. Once full, leaves are played out without being expanded
+     */
+    public MctsSearch(long playoutLimit, int nodeCapacity) {
+
+        this.NODE_CAPACITY = nodeCapacity;
+        this.NODE_MOVE = new int[nodeCapacity];
+        this.NODE_FIRST_CHILD = new int[nodeCapacity];
+        this.NODE_CHILD_COUNT = new int[nodeCapacity];
+        this.NODE_VISITS = new int[nodeCapacity];
+        this.NODE_WINS = new double[nodeCapacity];
+        this.NODE_TERMINAL = new boolean[nodeCapacity];
+
+        this.playoutLimit = playoutLimit;
+        this.candidateRadius = CandidateMoves.DEFAULT_RADIUS;
+        this.randomState = System.nanoTime() | 1;
+    }
+
+    /**
+     * Sets how long a search may take, the search stops at whichever of the playout or time limit it hits first
+     * @param millis The amount of milliseconds, 0 for no limit
+     */
+    public void setTimeLimit(long millis) {
+        this.timeLimit = millis;
+    }
+
+    /**
+     *
+     * @param playouts The amount of playouts to run, 0 for no limit
+     */
+    public void setPlayoutLimit(long playouts) {
+        this.playoutLimit = playouts;
+    }
+
+    /**
+     * Sets how far from the stones children are added on boards of NegamaxSearch.LARGE_BOARD_DIMENSION and up
+     * @param radius The amount of cells, including diagonally, or 0 to add every free cell
+     */
+    public void setCandidateRadius(int radius) {
+        this.candidateRadius = radius;
+    }
+
+    /**
+     * Seeds the random playouts so that searches without a time limit can be repeated
+     * @param seed The seed, any value
+     */
+    public void setSeed(long seed) {
+        this.randomState = seed == 0 ? 1 : seed;
+    }
+
+    /**
+     * Makes a search that is running on another thread return early with the best move it has found so far.
+     * Searches stay stopped until resetStop is called
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    /**
+     * Clears a stop request. The search never clears one itself, a stop that arrives just before a search starts
+     * would be lost otherwise
+     */
+    public void resetStop() {
+        stopRequested = false;
+    }
+
+    /**
+     * Searches for the best move for a side. If neither a playout nor a time limit is set the search runs until stopped
+     * @param position The board to search from, it is not modified
+     * @param side The side to move
+     * @return the index of the best cell to play on, or -1 if the board is full
+     */
+    public int findBestMove(Board position, int side) {
+
+        long start = System.nanoTime();
+        long deadline = timeLimit > 0 ? start + timeLimit * 1_000_000 : Long.MAX_VALUE;
+
+        board = Board.copyOf(position, board);
+        board.setSideToMove(side);
+        rootUndoCount = board.getUndoCount();
+        pruneMoves = board.getDimension() >= NegamaxSearch.LARGE_BOARD_DIMENSION && candidateRadius > 0;
+
+        if (pruneMoves) {
+            if (candidates == null || candidates.getDimension() != board.getDimension()
+                    || candidates.getRadius() != candidateRadius)
+                candidates = new CandidateMoves(board.getDimension(), candidateRadius);
+
+            candidates.reset(board);
+        }
+        int cellCount = board.getCellCount();
+
+        if (path == null || path.length < cellCount + 1) {
+            path = new int[cellCount + 1];
+            freeCells = new int[cellCount];
+        }
+
+        playoutCount = 0;
+        nodeCount = 1;
+        resetNode(0, -1);
+
+        if (board.isFull())
+            return -1;
+
+        while ((playoutLimit == 0 || playoutCount < playoutLimit) && !stopRequested) {
+
+            //Checking the clock is comparatively slow, so it's only done every so often
+            if ((playoutCount & 63) == 0 && System.nanoTime() > deadline)
+                break;
+
+            runIteration(board, side);
+            playoutCount++;
+        }
+
+        elapsedNanos = System.nanoTime() - start;
+
+        //Makes sure there's always a move even if the search was stopped straight away
+        if (NODE_FIRST_CHILD[0] == -1)
+            expand(board, 0);
+
+        int bestChild = NODE_FIRST_CHILD[0];
+
+        for (int child = bestChild + 1; child < NODE_FIRST_CHILD[0] + NODE_CHILD_COUNT[0]; child++)
+            if (NODE_VISITS[child] > NODE_VISITS[bestChild])
+                bestChild = child;
+
+        return NODE_MOVE[bestChild];
+    }
+
+    /**
+     * Runs one select, expand, playout and update pass over the tree
+     * @param board The board at the root, it is restored before returning
+     * @param rootSide The side to move at the root
+     */
+    private void runIteration(Board board, int rootSide) {
+
+        int node = 0, depth = 0;
+        boolean won = false;
+
+        path[depth++] = node;
+
+        //Selection, walks down the tree through expanded nodes
+        while (NODE_FIRST_CHILD[node] != -1 && !NODE_TERMINAL[node]) {
+            node = selectChild(node);
+            path[depth++] = node;
+
+            won = play(board, NODE_MOVE[node]);
+        }
+
+        //Expansion, a leaf gets its children on its second visit so single visits don't fill up the tree
+        if (!won && !NODE_TERMINAL[node] && NODE_VISITS[node] > 0 && !board.isFull() && expand(board, node)) {
+            node = selectChild(node);
+            path[depth++] = node;
+
+            won = play(board, NODE_MOVE[node]);
+        }
+
+        int treeUndoCount = board.getUndoCount();
+
+        //The node's move may have ended the game, otherwise the game is played out at random
+        int winner;
+
+        if (node != 0 && (NODE_TERMINAL[node] || won)) {
+            NODE_TERMINAL[node] = true;
+            winner = 1 - board.getSideToMove();
+        } else {
+            winner = playout(board);
+        }
+
+        //Takes back every move of the iteration, the candidates only followed the moves down the tree
+        while (board.getUndoCount() > rootUndoCount) {
+            int cell = board.undo();
+
+            if (pruneMoves && board.getUndoCount() < treeUndoCount)
+                candidates.remove(cell);
+        }
+
+        //Backpropagation, each node is scored for the side that played the move into it
+        for (int i = depth - 1; i >= 1; i--) {
+            int n = path[i];
+            int mover = i % 2 == 1 ? rootSide : 1 - rootSide;
+
+            NODE_VISITS[n]++;
+
+            if (winner == mover)
+                NODE_WINS[n] += 1;
+            else if (winner == Board.NOBODY)
+                NODE_WINS[n] += 0.5;
+        }
+
+        NODE_VISITS[0]++;
+    }
+
+    /**
+     * Plays random moves until the game is won or the board is full
+     * @param board The board to play out, the moves are made with play so they can be taken back
+     * @return the side that won, or NOBODY if the game was drawn
+     */
+    private int playout(Board board) {
+
+        int freeCount = 0;
+
+        for (int cell = board.nextFreeCell(0); cell != -1; cell = board.nextFreeCell(cell + 1))
+            freeCells[freeCount++] = cell;
+
+        while (freeCount > 0) {
+
+            //Picks a random free cell and fills its place with the last free cell
+            int pick = nextRandom(freeCount);
+            int cell = freeCells[pick];
+
+            freeCells[pick] = freeCells[--freeCount];
+
+            if (board.play(cell))
+                return 1 - board.getSideToMove();
+        }
+
+        return Board.NOBODY;
+    }
+
+    /**
+     * Plays a move down the tree
+     * @param board The board to play on
+     * @param cell The cell to play on
+     * @return true if the move won the game
+     */
+    private boolean play(Board board, int cell) {
+
+        if (pruneMoves)
+            candidates.add(cell);
+
+        return board.play(cell);
+    }
+
+    /**
+     * Picks the child with the highest upper confidence bound, children that have never been tried come first
+     * @param node The index of an expanded node
+     * @return the index of the child
+     */
+    private int selectChild(int node) {
+
+        int first = NODE_FIRST_CHILD[node];
+        int end = first + NODE_CHILD_COUNT[node];
+        double logVisits = Math.log(NODE_VISITS[node] + 1);
+
+        int best = first;
+        double bestValue = Double.NEGATIVE_INFINITY;
+
+        for (int child = first; child < end; child++) {
+
+            int visits = NODE_VISITS[child];
+
+            if (visits == 0)
+                return child;
+
+            double value = NODE_WINS[child] / visits + EXPLORATION * Math.sqrt(logVisits / visits);
+
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Adds a child to a node for every free cell on the board, or every candidate on a large board
+     * @param board The board at the node
+     * @param node The index of the node
+     * @return false if the tree is too full to add the children
+     */
+    private boolean expand(Board board, int node) {
+
+        int childCount = 0;
+
+        for (int cell = nextMove(board, 0); cell != -1; cell = nextMove(board, cell + 1))
+            childCount++;
+
+        if (nodeCount + childCount > NODE_CAPACITY)
+            return false;
+
+        NODE_FIRST_CHILD[node] = nodeCount;
+        NODE_CHILD_COUNT[node] = childCount;
+
+        for (int cell = nextMove(board, 0); cell != -1; cell = nextMove(board, cell + 1))
+            resetNode(nodeCount++, cell);
+
+        return true;
+    }
+
+    /**
+     *
+     * @param board The board at the node
+     * @param from The index of the cell to start looking from
+     * @return the index of the next child's move at or after from, or -1 if there are no more
+     */
+    private int nextMove(Board board, int from) {
+        return pruneMoves ? candidates.nextCandidate(board, from) : board.nextFreeCell(from);
+    }
+
+    /**
+     * Clears a node so it can be reused
+     * @param node The index of the node
+     * @param move The cell played to reach the node
+     */
+    private void resetNode(int node, int move) {
+        NODE_MOVE[node] = move;
+        NODE_FIRST_CHILD[node] = -1;
+        NODE_CHILD_COUNT[node] = 0;
+        NODE_VISITS[node] = 0;
+        NODE_WINS[node] = 0;
+        NODE_TERMINAL[node] = false;
+    }
+
+    /**
+     * Xorshift, it's much quicker than java.util.Random and has no locking or allocation
+     * @param bound The upper bound, exclusive
+     * @return a random number from 0 to bound - 1
+     */
+    private int nextRandom(int bound) {
+        randomState ^= randomState << 13;
+        randomState ^= randomState >>> 7;
+        randomState ^= randomState << 17;
+
+        return (int) (((randomState >>> 32) * bound) >>> 32);
+    }
+
+    /**
+     *
+     * @return the amount of playouts run by the last search
+     */
+    public long getPlayoutCount() {
+        return playoutCount;
+    }
+
+    /**
+     *
+     * @return the amount of nodes in the tree of the last search
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     *
+     * @return the amount of milliseconds the last search took
+     */
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    /**
+     *
+     * @return the amount of playouts run per second in the last search
+     */
+    public long getPlayoutsPerSecond() {
+        return elapsedNanos == 0 ? 0 : playoutCount * 1_000_000_000L / elapsedNanos;
+    }
+}
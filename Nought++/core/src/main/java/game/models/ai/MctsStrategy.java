@@ -0,0 +1,59 @@
+package game.models.ai;
+
+import game.models.engine.Board;
+import game.models.engine.BoardSnapshot;
+
+/**
+ * Picks moves with MctsSearch, running random playouts for the whole thinking time.
+ * It is the strongest strategy on grids too big to search exhaustively
+ */
+public class MctsStrategy implements MoveStrategy {
+
+    public static final String NAME = "mcts";
+    public static final long DEFAULT_PLAYOUTS = 100_000; //The amount of playouts to run when there is no thinking time limit
+
+    private final MctsSearch SEARCH; //Does the searching
+    private Board scratch; //The board the snapshot is copied into, reused from move to move
+
+    /**
+     *
+     * @param thinkingTime The amount of milliseconds to search for, 0 to run DEFAULT_PLAYOUTS playouts instead
+     */
+    public MctsStrategy(long thinkingTime) {
+        this.SEARCH = new MctsSearch(thinkingTime > 0 ? 0 : DEFAULT_PLAYOUTS);
+        this.SEARCH.setTimeLimit(thinkingTime);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public MoveResult selectMove(BoardSnapshot snapshot, int side) {
+
+        long start = System.nanoTime();
+        scratch = snapshot.toBoard(scratch);
+        int move = SEARCH.findBestMove(scratch, side);
+
+        return new MoveResult(move, SEARCH.getPlayoutCount(), 0, System.nanoTime() - start);
+    }
+
+    @Override
+    public void stop() {
+        SEARCH.stop();
+    }
+
+    @Override
+    public void resetStop() {
+        SEARCH.resetStop();
+    }
+
+    /**
+     *
+     * @return the search used to pick moves
+     */
+    public MctsSearch getSearch() {
+        return SEARCH;
+    }
+}
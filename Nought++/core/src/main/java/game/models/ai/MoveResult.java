@@ -0,0 +1,80 @@
+package game.models.ai;
+
+/**
+ * The move picked by a MoveStrategy along with statistics about the search that found it
+ */
+public final class MoveResult {
+
+    private final int MOVE; //The index of the cell to play on, -1 if there was no move
+    private final long NODE_COUNT; //The amount of positions or playouts the strategy looked at
+    private final int DEPTH; //How many moves ahead the strategy looked
+    private final long ELAPSED_NANOS; //How long the strategy took
+
+    /**
+     *
+     * @param move The index of the cell to play on, -1 if there was no move
+     * @param nodeCount The amount of positions or playouts the strategy looked at
+     * @param depth How many moves ahead the strategy looked
+     * @param elapsedNanos How long the strategy took
+     */
+    public MoveResult(int move, long nodeCount, int depth, long elapsedNanos) {
+        this.MOVE = move;
+        this.NODE_COUNT = nodeCount;
+        this.DEPTH = depth;
+        this.ELAPSED_NANOS = elapsedNanos;
+    }
+
+    /**
+     *
+     * @return the index of the cell to play on, -1 if there was no move
+     */
+    public int getMove() {
+        return MOVE;
+    }
+
+    /**
+     *
+     * @return the amount of positions or playouts the strategy looked at
+     */
+    public long getNodeCount() {
+        return NODE_COUNT;
+    }
+
+    /**
+     *
+     * @return how many moves ahead the strategy looked
+     */
+    public int getDepth() {
+        return DEPTH;
+    }
+
+    /**
+     *
+     * @return how long the strategy took in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return ELAPSED_NANOS;
+    }
+
+    /**
+     *
+     * @return how long the strategy took in milliseconds
+     */
+    public long getElapsedMillis() {
+        return ELAPSED_NANOS / 1_000_000;
+    }
+
+    /**
+     *
+     * @return the amount of positions or playouts looked at per second
+     */
+    public long getNodesPerSecond() {
+        return ELAPSED_NANOS == 0 ? 0 : NODE_COUNT * 1_000_000_000L / ELAPSED_NANOS;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("cell %d, %d nodes to depth %d in %dms (%d/s)",
+                MOVE, NODE_COUNT, DEPTH, getElapsedMillis(), getNodesPerSecond());
+    }
+}
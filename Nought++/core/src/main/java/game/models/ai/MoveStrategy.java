@@ -0,0 +1,38 @@
+package game.models.ai;
+
+import game.models.engine.BoardSnapshot;
+
+/**
+ * A way of picking the computer's move. Strategies only see a snapshot of the board, so they can be run,
+ * swapped and benchmarked without the game's controllers or JavaFX. Strategies are created by name with StrategyRegistry
+ */
+public interface MoveStrategy {
+
+    /**
+     *
+     * @return the name the strategy is registered under
+     */
+    String getName();
+
+    /**
+     * Picks a move for a side
+     * @param board The board to pick a move on
+     * @param side The side to move, Board.PLAYER_ONE or Board.PLAYER_TWO
+     * @return the move along with statistics about how it was found, the move is -1 if the board is full
+     */
+    MoveResult selectMove(BoardSnapshot board, int side);
+
+    /**
+     * Makes a selectMove that is running on another thread return early with the best move it has found so far.
+     * The strategy stays stopped until resetStop is called, so a stop that arrives just before a search starts
+     * still stops it
+     */
+    default void stop() {
+    }
+
+    /**
+     * Clears a stop so the next selectMove runs in full. Whoever stops a strategy calls this before its next move
+     */
+    default void resetStop() {
+    }
+}
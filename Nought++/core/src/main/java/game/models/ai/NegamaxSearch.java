@@ -0,0 +1,507 @@
+package game.models.ai;
+
+import game.models.engine.Board;
+import game.models.engine.CandidateMoves;
+import game.models.engine.ZobristKeys;
+
+/**
+ * An adversarial search of the game tree using negamax with alpha-beta pruning.
+ * The search runs on a private copy of the Board so it never touches the scene graph.
+ * Moves are ordered so that the best move remembered by the transposition table is tried first,
+ * then winning moves, then moves that block the opponent from winning, then the remaining moves by how much
+ * they improve the ThreatEvaluator score, nearest the centre first. Positions past the horizon are scored by
+ * the evaluator too. Positions are stored in the table under their canonical hash so that
+ * rotations and reflections of a position share an entry.
+ * The search deepens one move at a time until it runs out of depth or time, so it always has the best move of
+ * the deepest search it completed to fall back on
+ */
+public class NegamaxSearch {
+
+    public static final int WIN_SCORE = 1_000_000; //The score of a won position, wins found sooner score higher
+    public static final int DEFAULT_TABLE_BITS = 20; //A table of 2^20 entries, 16MB
+    private static final int INFINITY = Integer.MAX_VALUE - 1;
+    private static final int TABLE_MOVE_PRIORITY = 1 << 29; //Move ordering bonuses, each outranks every lower one
+    private static final int WIN_PRIORITY = 1 << 28;
+    private static final int BLOCK_PRIORITY = 1 << 27;
+    private static final int MAX_THREAT_PRIORITY = 1 << 20; //Threat scores are capped so they stay below a block
+    public static final int LARGE_BOARD_DIMENSION = 5; //From this dimension up threats are scored and only candidate moves are tried
+
+    private final int MAX_DEPTH; //The amount of moves ahead the search looks
+    private final TranspositionTable TABLE; //Remembers searched positions, null if the search runs without one
+
+    private Board board; //The search's own copy of the board, reused from search to search
+    private ThreatEvaluator evaluator; //Scores the threats on the board, kept up to date move by move
+    private CandidateMoves candidates; //The cells near a stone, kept up to date move by move
+    private int candidateRadius; //How far from a stone a move can be on a large board, 0 to try every free cell
+    private boolean largeBoard; //Set if the current search scores threats
+    private boolean pruneMoves; //Set if the current search only tries candidate moves
+    private int[][] moveBuffer; //The ordered moves of each ply, reused so a search doesn't allocate
+    private int[][] priorityBuffer; //The ordering priority of each move in moveBuffer
+    private long nodeCount; //The amount of positions visited by the last search
+
+    private long timeLimit; //The amount of milliseconds a search may take, 0 for no limit
+    private long deadline; //The System.nanoTime the current search has to stop at
+    private boolean aborted; //Set when the current search has run out of time or been stopped
+    private volatile boolean stopRequested; //Set from another thread to make the current search return early
+    private int completedDepth; //The depth of the deepest search that finished in the last call
+    private int bestScore; //The score of the move returned by the last search
+
+    /**
+     *
+     * @param maxDepth The amount of moves ahead to search, the search never looks further than the free cells on the board
+     */
+    public NegamaxSearch(int maxDepth) {
+        this(maxDepth, new TranspositionTable(DEFAULT_TABLE_BITS));
+    }
+
+    /**
+     *
+     * @param maxDepth The amount of moves ahead to search, the search never looks further than the free cells on the board
+     * @param table The transposition table to remember positions in, or null to search without one
+     */
+    public NegamaxSearch(int maxDepth, TranspositionTable table) {
+        this.MAX_DEPTH = maxDepth;
+        this.candidateRadius = CandidateMoves.DEFAULT_RADIUS;
+        this.TABLE = table;
+    }
+
+    /**
+     *
+     * @return the transposition table used by the search, or null if it runs without one
+     */
+    public TranspositionTable getTranspositionTable() {
+        return TABLE;
+    }
+
+    /**
+     *
+     * @return the amount of moves ahead the search looks
+     */
+    public int getMaxDepth() {
+        return MAX_DEPTH;
+    }
+
+    /**
+     * Sets how long a search may take, the search returns the best move of the deepest depth it finished in time
+     * @param millis The amount of milliseconds, 0 for no limit
+     */
+    public void setTimeLimit(long millis) {
+        this.timeLimit = millis;
+    }
+
+    /**
+     * Sets how far from the stones moves are tried on boards of LARGE_BOARD_DIMENSION and up.
+     * Smaller boards always try every free cell so their search stays exact
+     * @param radius The amount of cells, including diagonally, or 0 to try every free cell
+     */
+    public void setCandidateRadius(int radius) {
+        this.candidateRadius = radius;
+    }
+
+    /**
+     *
+     * @return how far from the stones moves are tried on large boards, 0 if every free cell is tried
+     */
+    public int getCandidateRadius() {
+        return candidateRadius;
+    }
+
+    /**
+     *
+     * @return the amount of milliseconds a search may take, 0 for no limit
+     */
+    public long getTimeLimit() {
+        return timeLimit;
+    }
+
+    /**
+     *
+     * @return the depth of the deepest search that finished in the last call
+     */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     *
+     * @return the score of the move returned by the last search, from the point of view of the side that moved
+     */
+    public int getBestScore() {
+        return bestScore;
+    }
+
+    /**
+     *
+     * @return the amount of positions visited by the last search
+     */
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Makes a search that is running on another thread return early with the best move it has found so far.
+     * Searches stay stopped until resetStop is called
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    /**
+     * Searches for the best move for a side
+     * @param position The board to search from, it is not modified
+     * @param side The side to move
+     * @return the index of the best cell to play on, or -1 if the board is full
+     */
+    public int findBestMove(Board position, int side) {
+
+        if (TABLE != null)
+            TABLE.newSearch();
+
+        return search(position, side, 1, 0);
+    }
+
+    /**
+     * Clears a stop request. The search never clears one itself, a stop that arrives just before a search starts
+     * would be lost otherwise
+     */
+    public void resetStop() {
+        stopRequested = false;
+    }
+
+    /**
+     * Runs the iterative deepening search. A ParallelSearch runs several of these at once over a shared table,
+     * starting them at different depths and root moves so they explore different parts of the tree
+     * @param position The board to search from, it is not modified
+     * @param side The side to move
+     * @param startDepth The first depth to search to
+     * @param rootRotation The amount of places to rotate the ordered root moves by before searching them
+     * @return the index of the best cell to play on, or -1 if the board is full
+     */
+    int search(Board position, int side, int startDepth, int rootRotation) {
+
+        board = Board.copyOf(position, board);
+        board.setSideToMove(side);
+
+        //On small boards the tree is searched to the end, where ties between even positions prune better than threats
+        largeBoard = board.getDimension() >= LARGE_BOARD_DIMENSION;
+        pruneMoves = largeBoard && candidateRadius > 0;
+
+        if (largeBoard) {
+            if (evaluator == null || evaluator.getDimension() != board.getDimension()
+                    || evaluator.getAmountNeededToWin() != board.getAmountNeededToWin())
+                evaluator = new ThreatEvaluator(board.getDimension(), board.getAmountNeededToWin());
+
+            evaluator.reset(board);
+        }
+
+        if (pruneMoves) {
+            if (candidates == null || candidates.getDimension() != board.getDimension()
+                    || candidates.getRadius() != candidateRadius)
+                candidates = new CandidateMoves(board.getDimension(), candidateRadius);
+
+            candidates.reset(board);
+        }
+
+        int maxDepth = Math.min(MAX_DEPTH, board.countFreeCells());
+
+        nodeCount = 0;
+        completedDepth = 0;
+        bestScore = 0;
+        aborted = false;
+        deadline = timeLimit > 0 ? System.nanoTime() + timeLimit * 1_000_000 : Long.MAX_VALUE;
+
+        if (maxDepth == 0)
+            return -1;
+
+        if (moveBuffer == null || moveBuffer.length < maxDepth || moveBuffer[0].length < board.getCellCount()) {
+            moveBuffer = new int[maxDepth][board.getCellCount()];
+            priorityBuffer = new int[maxDepth][board.getCellCount()];
+        }
+
+        int[] rootMoves = moveBuffer[0];
+        int moveCount = orderMoves(board, side, 0, -1, true);
+
+        //Until the first depth is finished the best guess is the best ordered move
+        int bestMove = rootMoves[0];
+
+        //The root priorities aren't needed again, so their buffer is used to rotate the moves
+        if (rootRotation % moveCount != 0) {
+            int[] rotated = priorityBuffer[0];
+
+            for (int i = 0; i < moveCount; i++)
+                rotated[i] = rootMoves[(i + rootRotation) % moveCount];
+
+            System.arraycopy(rotated, 0, rootMoves, 0, moveCount);
+        }
+
+        for (int depth = Math.min(startDepth, maxDepth); depth <= maxDepth; depth++) {
+
+            int alpha = -INFINITY;
+            int depthBestIndex = 0;
+
+            for (int i = 0; i < moveCount; i++) {
+                int score = scoreMove(board, rootMoves[i], side, depth, 0, -INFINITY, -alpha);
+
+                //The result of an unfinished depth can't be trusted
+                if (aborted)
+                    return bestMove;
+
+                if (score > alpha) {
+                    alpha = score;
+                    depthBestIndex = i;
+                }
+            }
+
+            bestMove = rootMoves[depthBestIndex];
+            bestScore = alpha;
+            completedDepth = depth;
+
+            //Searches the best move first next time round, it gives the tightest window the soonest
+            System.arraycopy(rootMoves, 0, rootMoves, 1, depthBestIndex);
+            rootMoves[0] = bestMove;
+
+            //Searching deeper can't change a forced win or loss
+            if (Math.abs(alpha) > WIN_SCORE / 2)
+                break;
+        }
+
+        return bestMove;
+    }
+
+    /**
+     * Plays a move, scores it and takes it back
+     * @param board The board being searched
+     * @param cell The cell to play on
+     * @param side The side playing the move
+     * @param depth The remaining depth including this move
+     * @param ply The distance of the move from the root
+     * @param alpha The lower bound of the score window of the position after the move
+     * @param beta The upper bound of the score window of the position after the move
+     * @return the score of the move from the point of view of side
+     */
+    private int scoreMove(Board board, int cell, int side, int depth, int ply, int alpha, int beta) {
+
+        int score;
+
+        boolean won = board.play(cell);
+
+        if (largeBoard)
+            evaluator.update(board, cell);
+
+        if (pruneMoves)
+            candidates.add(cell);
+
+        if (won)
+            score = WIN_SCORE - ply;
+        else
+            score = -negamax(board, 1 - side, depth - 1, ply + 1, alpha, beta);
+
+        board.undo();
+
+        if (largeBoard)
+            evaluator.update(board, cell);
+
+        if (pruneMoves)
+            candidates.remove(cell);
+
+        return score;
+    }
+
+    /**
+     * Scores a position for the side to move
+     * @param board The board being searched
+     * @param side The side to move
+     * @param depth The remaining amount of moves to look ahead
+     * @param ply The distance of the position from the root
+     * @param alpha The lower bound of the score window
+     * @param beta The upper bound of the score window
+     * @return the score of the position from the point of view of side
+     */
+    private int negamax(Board board, int side, int depth, int ply, int alpha, int beta) {
+
+        nodeCount++;
+
+        //Checking the clock is comparatively slow, so it's only done every so often
+        if (stopRequested || ((nodeCount & 63) == 0 && System.nanoTime() > deadline))
+            aborted = true;
+
+        if (aborted)
+            return 0;
+
+        //A full board without a win is a draw, and positions past the horizon are scored by their threats
+        if (board.isFull())
+            return 0;
+
+        if (depth == 0)
+            return largeBoard ? evaluator.evaluate(side) : 0;
+
+        ZobristKeys keys = board.getZobristKeys();
+        int symmetry = board.getCanonicalSymmetry();
+        long key = board.getCanonicalHash() ^ (side == Board.PLAYER_TWO ? keys.getSideKey() : 0);
+        int tableMove = -1;
+
+        if (TABLE != null) {
+            long entry = TABLE.probe(key);
+
+            if (entry != TranspositionTable.MISS) {
+
+                //The move was stored as seen through the canonical symmetry, so it's turned back to this board
+                if (TranspositionTable.getMove(entry) != -1)
+                    tableMove = keys.inverse(symmetry, TranspositionTable.getMove(entry));
+
+                if (TranspositionTable.getDepth(entry) >= depth) {
+                    int score = fromTableScore(TranspositionTable.getScore(entry), ply);
+
+                    switch (TranspositionTable.getBound(entry)) {
+                        case TranspositionTable.EXACT:
+                            return score;
+                        case TranspositionTable.LOWER_BOUND:
+                            alpha = Math.max(alpha, score);
+                            break;
+                        case TranspositionTable.UPPER_BOUND:
+                            beta = Math.min(beta, score);
+                            break;
+                    }
+
+                    if (alpha >= beta)
+                        return score;
+                }
+            }
+        }
+
+        int originalAlpha = alpha;
+        int moveCount = orderMoves(board, side, ply, tableMove, depth > 1 || !largeBoard);
+        int best = -INFINITY;
+        int bestMove = -1;
+
+        for (int i = 0; i < moveCount; i++) {
+            int score = scoreMove(board, moveBuffer[ply][i], side, depth, ply, -beta, -alpha);
+
+            if (score > best) {
+                best = score;
+                bestMove = moveBuffer[ply][i];
+            }
+
+            if (best > alpha)
+                alpha = best;
+
+            if (alpha >= beta)
+                break;
+        }
+
+        if (TABLE != null && !aborted) {
+            int bound = best <= originalAlpha ? TranspositionTable.UPPER_BOUND
+                    : best >= beta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+
+            TABLE.store(key, toTableScore(best, ply), depth, bound, keys.transform(symmetry, bestMove));
+        }
+
+        return best;
+    }
+
+    /**
+     * Win scores count down from the root, but a stored position can be reached at any ply.
+     * Before storing them they are made to count from the position instead
+     * @param score The score relative to the root
+     * @param ply The distance of the position from the root
+     * @return the score relative to the position
+     */
+    private int toTableScore(int score, int ply) {
+        if (score > WIN_SCORE / 2)
+            return score + ply;
+
+        if (score < -WIN_SCORE / 2)
+            return score - ply;
+
+        return score;
+    }
+
+    /**
+     * Turns a stored score back into one relative to the root, the opposite of toTableScore
+     * @param score The score relative to the position
+     * @param ply The distance of the position from the root
+     * @return the score relative to the root
+     */
+    private int fromTableScore(int score, int ply) {
+        if (score > WIN_SCORE / 2)
+            return score - ply;
+
+        if (score < -WIN_SCORE / 2)
+            return score + ply;
+
+        return score;
+    }
+
+    /**
+     * Fills the move buffer of a ply with every free cell, ordered best first
+     * @param board The board being searched
+     * @param side The side to move
+     * @param ply The ply to fill the buffer of
+     * @param tableMove The best move remembered by the transposition table, or -1 if there isn't one
+     * @param full false to only put the table move first and order the rest from the centre. Checking every move
+     * for threats costs more than it saves just above the horizon, where each move is scored straight away
+     * @return the amount of moves
+     */
+    private int orderMoves(Board board, int side, int ply, int tableMove, boolean full) {
+
+        int[] moves = moveBuffer[ply];
+        int[] priorities = priorityBuffer[ply];
+        int count = 0;
+
+        for (int cell = nextMove(board, 0); cell != -1; cell = nextMove(board, cell + 1)) {
+
+            int threat = full && largeBoard ? evaluator.scoreMove(board, cell, side) : 0;
+            int priority = Math.max(-MAX_THREAT_PRIORITY, Math.min(MAX_THREAT_PRIORITY, threat)) * 32
+                    + 32 - distanceFromCentre(board, cell);
+
+            //Threats come first, winning now beats stopping the opponent from winning
+            if (cell == tableMove)
+                priority += TABLE_MOVE_PRIORITY;
+            else if (full && board.isWinningCell(cell, side))
+                priority += WIN_PRIORITY;
+            else if (full && board.isWinningCell(cell, 1 - side))
+                priority += BLOCK_PRIORITY;
+
+            //Insertion sort, the buffers are small and mostly in order already
+            int i = count++;
+
+            while (i > 0 && priorities[i - 1] < priority) {
+                moves[i] = moves[i - 1];
+                priorities[i] = priorities[i - 1];
+                i--;
+            }
+
+            moves[i] = cell;
+            priorities[i] = priority;
+        }
+
+        return count;
+    }
+
+    /**
+     *
+     * @param board The board being searched
+     * @param from The index of the cell to start looking from
+     * @return the index of the next move to try at or after from, or -1 if there are no more.
+     * On a large board only the cells near a stone are worth trying
+     */
+    private int nextMove(Board board, int from) {
+        return pruneMoves ? candidates.nextCandidate(board, from) : board.nextFreeCell(from);
+    }
+
+    /**
+     *
+     * @param board The board being searched
+     * @param cell The index of the cell
+     * @return the amount of steps, including diagonal steps, the cell is away from the centre
+     */
+    private int distanceFromCentre(Board board, int cell) {
+
+        //Doubled so the centre of an even board falls between cells
+        int centre = board.getDimension() - 1;
+        int colDistance = Math.abs(board.column(cell) * 2 - centre);
+        int rowDistance = Math.abs(board.row(cell) * 2 - centre);
+
+        return Math.max(colDistance, rowDistance) / 2;
+    }
+}
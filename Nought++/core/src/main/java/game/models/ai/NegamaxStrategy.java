@@ -0,0 +1,62 @@
+package game.models.ai;
+
+import game.models.engine.Board;
+import game.models.engine.BoardSnapshot;
+
+/**
+ * Searches the game tree with ParallelSearch, deepening until the thinking time is up
+ */
+public class NegamaxStrategy implements MoveStrategy {
+
+    public static final String NAME = "negamax";
+    public static final String SERIAL_NAME = "negamax-serial"; //A single thread, the same move every time when there's no time limit
+    public static final int UNLIMITED_DEPTH = Integer.MAX_VALUE; //Searches as deep as the thinking time allows
+
+    private final ParallelSearch SEARCH; //Does the searching
+    private Board scratch; //The board the snapshot is copied into, reused from move to move
+
+    /**
+     *
+     * @param maxDepth The amount of moves to search ahead, or UNLIMITED_DEPTH
+     * @param threads The amount of threads to search with. A single thread with no time limit always picks the same move
+     * @param thinkingTime The amount of milliseconds to search for, 0 for no limit
+     */
+    public NegamaxStrategy(int maxDepth, int threads, long thinkingTime) {
+        this.SEARCH = new ParallelSearch(maxDepth, threads);
+        this.SEARCH.setTimeLimit(thinkingTime);
+    }
+
+    @Override
+    public String getName() {
+        return SEARCH.getThreadCount() == 1 ? SERIAL_NAME : NAME;
+    }
+
+    @Override
+    public MoveResult selectMove(BoardSnapshot snapshot, int side) {
+
+        long start = System.nanoTime();
+        scratch = snapshot.toBoard(scratch);
+        int move = SEARCH.findBestMove(scratch, side);
+
+        return new MoveResult(move, SEARCH.getNodeCount(), SEARCH.getCompletedDepth(),
+                System.nanoTime() - start);
+    }
+
+    @Override
+    public void stop() {
+        SEARCH.stop();
+    }
+
+    @Override
+    public void resetStop() {
+        SEARCH.resetStop();
+    }
+
+    /**
+     *
+     * @return the search used to pick moves
+     */
+    public ParallelSearch getSearch() {
+        return SEARCH;
+    }
+}
@@ -0,0 +1,182 @@
+package game.models.ai;
+
+import game.models.engine.Board;
+import game.models.engine.ZobristKeys;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A table of solved positions for a board size, built offline by OpeningBookBuilder and shipped as a resource.
+ * Positions are keyed by their canonical hash so every rotation and reflection shares one entry, and the best
+ * move is stored as seen through the canonical symmetry. The keys are sorted so a lookup is a binary search.
+ * Moves are stored as unsigned bytes, so a book can only be built for boards of up to MAX_CELLS cells.
+ * Books are loaded the first time a board size asks for one, sizes without a book get an empty one. So does a size
+ * whose book can't be read, which is reported once, and BookStrategy searches every position with its fallback
+ */
+public class OpeningBook {
+
+    public static final int MAGIC = 0x4E505042; //"NPPB", marks the start of a book file
+    public static final int VERSION = 1; //The version of the file layout
+    public static final int MAX_CELLS = 256; //The most cells a board can have for its moves to fit in a byte
+
+    //Every book that has been loaded, keyed by dimension and amount needed to win
+    private static final Map<Long, OpeningBook> CACHE = new ConcurrentHashMap<>();
+
+    private final int DIMENSION; //The dimension of the board the book is for
+    private final int AMOUNT_NEEDED_TO_WIN; //The amount needed to win on the board the book is for
+    private final long[] KEYS; //The canonical key of every position, sorted
+    private final byte[] MOVES; //The best move of each position, seen through its canonical symmetry, unsigned
+
+    /**
+     *
+     * @param dimension The dimension of the board the book is for
+     * @param amountToWin The amount needed to win on the board the book is for
+     * @param keys The canonical key of every position, sorted
+     * @param moves The best move of each position, seen through its canonical symmetry, unsigned
+     */
+    OpeningBook(int dimension, int amountToWin, long[] keys, byte[] moves) {
+        this.DIMENSION = dimension;
+        this.AMOUNT_NEEDED_TO_WIN = amountToWin;
+        this.KEYS = keys;
+        this.MOVES = moves;
+    }
+
+    /**
+     * Gets the book for a board size, loading it the first time it's asked for
+     * @param dimension The dimension of the board
+     * @param amountToWin The amount needed to win
+     * @return the book, which is empty if none was built for the size
+     */
+    public static OpeningBook forBoard(int dimension, int amountToWin) {
+        return CACHE.computeIfAbsent(((long) dimension << 32) | amountToWin, key -> load(dimension, amountToWin));
+    }
+
+    /**
+     *
+     * @param dimension The dimension of the board
+     * @param amountToWin The amount needed to win
+     * @return the path of the book's resource
+     */
+    public static String getResourceName(int dimension, int amountToWin) {
+        return String.format("/game/resources/book-%dx%d-%d.bin", dimension, dimension, amountToWin);
+    }
+
+    /**
+     * Reads a book from its resource. It's only called once per size, so a book that can't be read is reported once
+     * @param dimension The dimension of the board
+     * @param amountToWin The amount needed to win
+     * @return the book, or an empty book if there's no resource or it can't be read
+     */
+    private static OpeningBook load(int dimension, int amountToWin) {
+
+        String name = getResourceName(dimension, amountToWin);
+        InputStream resource = OpeningBook.class.getResourceAsStream(name);
+
+        if (resource == null)
+            return new OpeningBook(dimension, amountToWin, new long[0], new byte[0]);
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(resource))) {
+
+            if (in.readInt() != MAGIC || in.readUnsignedShort() != VERSION
+                    || in.readUnsignedByte() != dimension || in.readUnsignedByte() != amountToWin)
+                throw new IOException("Not a book for this board");
+
+            int count = in.readInt();
+            long[] keys = new long[count];
+            byte[] moves = new byte[count];
+
+            for (int i = 0; i < count; i++)
+                keys[i] = in.readLong();
+
+            in.readFully(moves);
+
+            return new OpeningBook(dimension, amountToWin, keys, moves);
+
+        } catch (IOException e) {
+            //The game still plays the size perfectly, only more slowly, as every position is searched instead
+            System.err.println("The opening book " + name + " can't be read, the computer will search its moves: "
+                    + e.getMessage());
+            return new OpeningBook(dimension, amountToWin, new long[0], new byte[0]);
+        }
+    }
+
+    /**
+     * Writes the book in the layout read by load
+     * @param output The stream to write to, it is not closed
+     * @throws IOException if the book can't be written
+     */
+    public void write(OutputStream output) throws IOException {
+
+        DataOutputStream out = new DataOutputStream(output);
+
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeByte(DIMENSION);
+        out.writeByte(AMOUNT_NEEDED_TO_WIN);
+        out.writeInt(KEYS.length);
+
+        for (long key : KEYS)
+            out.writeLong(key);
+
+        out.write(MOVES);
+        out.flush();
+    }
+
+    /**
+     * Gets the key a position is stored under. The book only holds positions with player two to move,
+     * a position with player one to move is looked up with the sides swapped
+     * @param board The board, with player two to move
+     * @return the canonical key of the position
+     */
+    static long getKey(Board board) {
+        return board.getCanonicalHash() ^ board.getZobristKeys().getSideKey();
+    }
+
+    /**
+     * Looks up the best move of a position
+     * @param board The board to look up, it is not modified
+     * @param side The side to move
+     * @return the index of the best cell to play on, or -1 if the position is not in the book
+     */
+    public int getBestMove(Board board, int side) {
+
+        if (KEYS.length == 0 || board.getDimension() != DIMENSION || board.getAmountNeededToWin() != AMOUNT_NEEDED_TO_WIN)
+            return -1;
+
+        //The book is from player two's point of view, so player one looks its position up with the sides swapped
+        if (side == Board.PLAYER_ONE) {
+            Board swapped = new Board(DIMENSION, AMOUNT_NEEDED_TO_WIN);
+
+            for (int cell = 0; cell < board.getCellCount(); cell++)
+                if (!board.isFree(cell))
+                    swapped.place(cell, 1 - board.getOwner(cell));
+
+            board = swapped;
+        }
+
+        int index = Arrays.binarySearch(KEYS, getKey(board));
+
+        if (index < 0)
+            return -1;
+
+        ZobristKeys keys = board.getZobristKeys();
+
+        return keys.inverse(board.getCanonicalSymmetry(), MOVES[index] & 0xFF);
+    }
+
+    /**
+     *
+     * @return the amount of positions in the book
+     */
+    public int size() {
+        return KEYS.length;
+    }
+}
@@ -0,0 +1,132 @@
+package game.models.ai;
+
+import game.models.engine.Board;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Solves small boards offline and writes the OpeningBook resources.
+ * Player two is given its perfectly played move in every position it can reach against any reply from player one,
+ * whichever side starts. Run it from the source folder with the sizes to build as dimension:amountToWin pairs
+ * e.g. java game.models.ai.OpeningBookBuilder game/resources 3:3 4:3
+ */
+public class OpeningBookBuilder {
+
+    private final Board BOARD; //The board the positions are played out on
+    private final NegamaxSearch SEARCH; //Solves each position player two has to move in
+    private final Map<Long, Integer> ENTRIES; //The canonical move of every position player two has to move in
+    private final Set<Long> VISITED; //Every position player one has to move in that has been explored
+
+    /**
+     *
+     * @param dimension The dimension of the board to solve
+     * @param amountToWin The amount needed to win on the board to solve
+     * @throws IllegalArgumentException if the board has more cells than a book can hold
+     */
+    public OpeningBookBuilder(int dimension, int amountToWin) {
+
+        if (dimension * dimension > OpeningBook.MAX_CELLS)
+            throw new IllegalArgumentException("An opening book can't hold a " + dimension + "x" + dimension
+                    + " board, it has more than " + OpeningBook.MAX_CELLS + " cells");
+
+        this.BOARD = new Board(dimension, amountToWin);
+        this.SEARCH = new NegamaxSearch(NegamaxStrategy.UNLIMITED_DEPTH, new TranspositionTable(22));
+        this.ENTRIES = new HashMap<>();
+        this.VISITED = new HashSet<>();
+    }
+
+    /**
+     * Explores the game from an empty board with each side starting
+     * @return the book of every position player two reached
+     */
+    public OpeningBook build() {
+
+        for (int side = Board.PLAYER_ONE; side <= Board.PLAYER_TWO; side++) {
+            BOARD.clear();
+            BOARD.setSideToMove(side);
+            explore();
+        }
+
+        long[] keys = new long[ENTRIES.size()];
+        byte[] moves = new byte[keys.length];
+        int i = 0;
+
+        for (long key : ENTRIES.keySet())
+            keys[i++] = key;
+
+        Arrays.sort(keys);
+
+        for (i = 0; i < keys.length; i++)
+            moves[i] = (byte) (int) ENTRIES.get(keys[i]);
+
+        return new OpeningBook(BOARD.getDimension(), BOARD.getAmountNeededToWin(), keys, moves);
+    }
+
+    /**
+     * Records player two's best move in the current position and follows it,
+     * or follows every move if it's player one's turn
+     */
+    private void explore() {
+
+        if (BOARD.isFull())
+            return;
+
+        if (BOARD.getSideToMove() == Board.PLAYER_TWO) {
+            long key = OpeningBook.getKey(BOARD);
+
+            if (ENTRIES.containsKey(key))
+                return;
+
+            int move = SEARCH.findBestMove(BOARD, Board.PLAYER_TWO);
+            ENTRIES.put(key, BOARD.getZobristKeys().transform(BOARD.getCanonicalSymmetry(), move));
+
+            if (!BOARD.play(move))
+                explore();
+
+            BOARD.undo();
+        } else {
+            if (!VISITED.add(BOARD.getCanonicalHash()))
+                return;
+
+            for (int cell = BOARD.nextFreeCell(0); cell != -1; cell = BOARD.nextFreeCell(cell + 1)) {
+                if (!BOARD.play(cell))
+                    explore();
+
+                BOARD.undo();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        if (args.length < 2) {
+            System.out.println("Usage: OpeningBookBuilder <output folder> <dimension:amountToWin>...");
+            return;
+        }
+
+        for (int i = 1; i < args.length; i++) {
+            String[] size = args[i].split(":");
+            int dimension = Integer.parseInt(size[0]), amountToWin = Integer.parseInt(size[1]);
+
+            long start = System.currentTimeMillis();
+            OpeningBook book = new OpeningBookBuilder(dimension, amountToWin).build();
+            File file = new File(args[0], new File(OpeningBook.getResourceName(dimension, amountToWin)).getName());
+
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+                book.write(out);
+            }
+
+            System.out.printf("%dx%d %d to win: %d positions in %dms -> %s\n", dimension, dimension, amountToWin,
+                    book.size(), System.currentTimeMillis() - start, file);
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package game.models.ai;
+
+import game.models.engine.Board;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Runs several negamax searches at once in the style of lazy SMP. Every worker searches the same position with
+ * its own board and buffers but shares one transposition table, so what one worker learns cuts the others' trees.
+ * Helper workers start at alternating depths with their root moves rotated so they spread out over the tree.
+ * The caller's thread runs the first worker, the helpers run on a worker pool.
+ * With one thread the search is the plain single threaded NegamaxSearch, which is reproducible when
+ * it has no time limit. Running this class times a search to a fixed depth at several thread counts and prints
+ * the speed up of each over one thread
+ */
+public class ParallelSearch {
+
+    private final NegamaxSearch[] WORKERS; //One search per thread, WORKERS[0] runs on the caller's thread
+    private final TranspositionTable TABLE; //The table shared by every worker
+    private final ExecutorService POOL; //Runs the helper workers
+
+    private final int[] BEST_MOVES; //The move each worker returned in the last search
+    private final Runnable[] HELPER_TASKS; //Runs each helper worker on the current position, built once so searching doesn't allocate
+    private final Future<?>[] HELPERS; //The running helper tasks
+
+    private Board position; //The board being searched
+    private int side; //The side to move in the board being searched
+
+    private long nodeCount; //The amount of positions visited by every worker in the last search
+    private long elapsedNanos; //How long the last search took
+    private int bestWorker; //The worker whose move was picked in the last search
+
+    /**
+     * Creates a search that runs its helpers on the common fork join pool
+     * @param maxDepth The amount of moves ahead to search
+     * @param threads The amount of workers to search with, 1 for a single threaded search
+     */
+    public ParallelSearch(int maxDepth, int threads) {
+        this(maxDepth, threads, ForkJoinPool.commonPool(), new TranspositionTable(NegamaxSearch.DEFAULT_TABLE_BITS));
+    }
+
+    /**
+     *
+     * @param maxDepth The amount of moves ahead to search
+     * @param threads The amount of workers to search with, 1 for a single threaded search
+     * @param pool The pool to run the helper workers on
+     * @param table The table shared by every worker
+     */
+    public ParallelSearch(int maxDepth, int threads, ExecutorService pool, TranspositionTable table) {
+
+        this.WORKERS = new NegamaxSearch[Math.max(threads, 1)];
+        this.TABLE = table;
+        this.POOL = pool;
+        this.BEST_MOVES = new int[WORKERS.length];
+        this.HELPER_TASKS = new Runnable[WORKERS.length];
+        this.HELPERS = new Future<?>[WORKERS.length];
+
+        for (int i = 0; i < WORKERS.length; i++) {
+            final int index = i;
+
+            WORKERS[i] = new NegamaxSearch(maxDepth, table);
+            HELPER_TASKS[i] = () -> BEST_MOVES[index] = WORKERS[index].search(position, side, 1 + index % 2, index);
+        }
+    }
+
+    /**
+     * Sets how long a search may take
+     * @param millis The amount of milliseconds, 0 for no limit
+     */
+    public void setTimeLimit(long millis) {
+        for (NegamaxSearch worker : WORKERS)
+            worker.setTimeLimit(millis);
+    }
+
+    /**
+     * Sets how far from the stones moves are tried on large boards
+     * @param radius The amount of cells, including diagonally, or 0 to try every free cell
+     */
+    public void setCandidateRadius(int radius) {
+        for (NegamaxSearch worker : WORKERS)
+            worker.setCandidateRadius(radius);
+    }
+
+    /**
+     *
+     * @return the amount of workers the search runs
+     */
+    public int getThreadCount() {
+        return WORKERS.length;
+    }
+
+    /**
+     *
+     * @return the table shared by every worker
+     */
+    public TranspositionTable getTranspositionTable() {
+        return TABLE;
+    }
+
+    /**
+     * Makes a running search return early with the best move it has found so far.
+     * Searches stay stopped until resetStop is called
+     */
+    public void stop() {
+        for (NegamaxSearch worker : WORKERS)
+            worker.stop();
+    }
+
+    /**
+     * Clears a stop request, the search never clears one itself
+     */
+    public void resetStop() {
+        for (NegamaxSearch worker : WORKERS)
+            worker.resetStop();
+    }
+
+    /**
+     * Searches for the best move for a side. The move of the worker that finished the deepest search is played,
+     * the first worker wins a tie as its move ordering is the most trustworthy
+     * @param position The board to search from, it is not modified
+     * @param side The side to move
+     * @return the index of the best cell to play on, or -1 if the board is full
+     */
+    public int findBestMove(Board position, int side) {
+
+        long start = System.nanoTime();
+
+        if (TABLE != null)
+            TABLE.newSearch();
+
+        //The helpers were stopped by the end of the last search, the first worker is only ever stopped by stop
+        for (int i = 1; i < WORKERS.length; i++)
+            WORKERS[i].resetStop();
+
+        this.position = position;
+        this.side = side;
+
+        for (int i = 1; i < WORKERS.length; i++)
+            HELPERS[i] = POOL.submit(HELPER_TASKS[i]);
+
+        BEST_MOVES[0] = WORKERS[0].search(position, side, 1, 0);
+
+        //Once the first worker is done the helpers have nothing left to add
+        for (int i = 1; i < WORKERS.length; i++)
+            WORKERS[i].stop();
+
+        for (int i = 1; i < WORKERS.length; i++) {
+            try {
+                HELPERS[i].get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("A search worker has failed", e.getCause());
+            }
+        }
+
+        nodeCount = 0;
+        bestWorker = 0;
+
+        for (int i = 0; i < WORKERS.length; i++) {
+            nodeCount += WORKERS[i].getNodeCount();
+
+            if (WORKERS[i].getCompletedDepth() > WORKERS[bestWorker].getCompletedDepth())
+                bestWorker = i;
+        }
+
+        elapsedNanos = System.nanoTime() - start;
+        this.position = null;
+
+        return BEST_MOVES[bestWorker];
+    }
+
+    /**
+     *
+     * @return the amount of positions visited by every worker in the last search
+     */
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     *
+     * @return the depth of the search whose move was picked
+     */
+    public int getCompletedDepth() {
+        return WORKERS[bestWorker].getCompletedDepth();
+    }
+
+    /**
+     *
+     * @return the score of the picked move, from the point of view of the side that moved
+     */
+    public int getBestScore() {
+        return WORKERS[bestWorker].getBestScore();
+    }
+
+    /**
+     *
+     * @return the amount of milliseconds the last search took
+     */
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    /**
+     * Helpers visit positions the first worker would have found in the table, so this goes up with the thread count
+     * faster than the search gets quicker. Compare the elapsed time for the speed up
+     * @return the amount of positions visited per second in the last search
+     */
+    public long getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodeCount * 1_000_000_000L / elapsedNanos;
+    }
+
+    /**
+     * Creates a position part way through a game, with random moves that don't win
+     * @param dimension The width and height of the board
+     * @param amountToWin The amount in a row needed to win
+     * @param moves The amount of moves to play
+     * @param seed Picks the moves
+     * @return the board
+     */
+    private static Board randomPosition(int dimension, int amountToWin, int moves, long seed) {
+
+        Board board = new Board(dimension, amountToWin);
+        Random random = new Random(seed);
+
+        for (int tries = 0; board.getMoveCount() < moves && tries < 100 * moves; tries++) {
+
+            int cell = random.nextInt(board.getCellCount());
+
+            if (board.isFree(cell) && !board.isWinningCell(cell, board.getSideToMove()))
+                board.play(cell);
+        }
+
+        return board;
+    }
+
+    /**
+     * Times searches to a fixed depth from the same position at each thread count, each with an empty table,
+     * and prints the quickest of the runs at each count with its speed up over one thread
+     * @param position The board to search from
+     * @param depth The amount of moves ahead to search
+     * @param threadCounts The thread counts to time, one thread is always timed first
+     * @param runs The amount of searches at each thread count, the first one also warms up the JIT
+     */
+    public static void printSpeedup(Board position, int depth, List<Integer> threadCounts, int runs) {
+
+        List<Integer> counts = new ArrayList<>(threadCounts);
+        counts.remove(Integer.valueOf(1));
+        counts.add(0, 1);
+
+        System.out.printf("%dx%d, %d to win, %d moves played, depth %d, best of %d runs\n", position.getDimension(),
+                position.getDimension(), position.getAmountNeededToWin(), position.getMoveCount(), depth, runs);
+        System.out.printf("%8s %12s %14s %10s\n", "threads", "ms", "nodes/s", "speed up");
+
+        long singleThreadNanos = 0;
+
+        for (int threads : counts) {
+
+            ExecutorService pool = Executors.newFixedThreadPool(Math.max(threads - 1, 1), task -> {
+                Thread thread = new Thread(task, "Search helper");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            long bestNanos = Long.MAX_VALUE, nodes = 0;
+
+            for (int run = 0; run < runs; run++) {
+
+                ParallelSearch search = new ParallelSearch(depth, threads, pool,
+                        new TranspositionTable(NegamaxSearch.DEFAULT_TABLE_BITS));
+
+                search.findBestMove(position, position.getSideToMove());
+
+                if (search.elapsedNanos < bestNanos) {
+                    bestNanos = search.elapsedNanos;
+                    nodes = search.nodeCount;
+                }
+            }
+
+            pool.shutdown();
+
+            if (threads == 1)
+                singleThreadNanos = bestNanos;
+
+            System.out.printf("%8d %12.1f %14d %9.2fx\n", threads, bestNanos / 1e6,
+                    nodes * 1_000_000_000L / Math.max(bestNanos, 1), (double) singleThreadNanos / bestNanos);
+        }
+    }
+
+    public static void main(String[] args) {
+
+        int dimension = 15, amountToWin = 5, depth = 5, moves = 8, runs = 3;
+        long seed = 1;
+        List<Integer> threadCounts = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--dimension":
+                    dimension = Integer.parseInt(args[++i]);
+                    break;
+                case "--win":
+                    amountToWin = Integer.parseInt(args[++i]);
+                    break;
+                case "--depth":
+                    depth = Integer.parseInt(args[++i]);
+                    break;
+                case "--moves":
+                    moves = Integer.parseInt(args[++i]);
+                    break;
+                case "--runs":
+                    runs = Integer.parseInt(args[++i]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                default:
+                    threadCounts.add(Integer.parseInt(args[i]));
+            }
+        }
+
+        //Doubles up to every processor when no thread counts are given
+        if (threadCounts.isEmpty())
+            for (int threads = 2; threads <= Runtime.getRuntime().availableProcessors(); threads *= 2)
+                threadCounts.add(threads);
+
+        printSpeedup(randomPosition(dimension, amountToWin, moves, seed), depth, threadCounts, Math.max(runs, 1));
+    }
+}
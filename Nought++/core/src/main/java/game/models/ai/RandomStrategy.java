@@ -0,0 +1,63 @@
+package game.models.ai;
+
+import game.models.engine.Board;
+import game.models.engine.BoardSnapshot;
+
+import java.util.Random;
+
+/**
+ * Plays on any free cell. It's the baseline the other strategies are measured against
+ */
+public class RandomStrategy implements MoveStrategy {
+
+    public static final String NAME = "random";
+
+    private final Random RANDOM; //Picks the cell
+
+    public RandomStrategy() {
+        this(new Random());
+    }
+
+    /**
+     *
+     * @param random The generator used to pick cells, seed it to repeat games
+     */
+    public RandomStrategy(Random random) {
+        this.RANDOM = random;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public MoveResult selectMove(BoardSnapshot board, int side) {
+        long start = System.nanoTime();
+        int move = randomFreeCell(board, RANDOM);
+
+        return new MoveResult(move, 0, 0, System.nanoTime() - start);
+    }
+
+    /**
+     * Picks a free cell with every free cell equally likely
+     * @param board The board to pick on
+     * @param random The generator to pick with
+     * @return the index of the cell, or -1 if the board is full
+     */
+    static int randomFreeCell(BoardSnapshot board, Random random) {
+
+        int freeCount = board.getCellCount() - board.getMoveCount();
+
+        if (freeCount == 0)
+            return -1;
+
+        int pick = random.nextInt(freeCount);
+
+        for (int cell = 0; cell < board.getCellCount(); cell++)
+            if (board.getOwner(cell) == Board.NOBODY && pick-- == 0)
+                return cell;
+
+        return -1;
+    }
+}
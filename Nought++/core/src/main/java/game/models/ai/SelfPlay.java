@@ -0,0 +1,327 @@
+package game.models.ai;
+
+import game.models.engine.Board;
+import game.models.engine.BoardSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays games between two strategies without the user interface, to check the computer's strength and speed.
+ * Games run in parallel and the strategies swap who starts every game. It doesn't touch JavaFX so it runs headless.
+ * When more than one game is played at once negamax searches with a single thread, otherwise every game's helpers
+ * would share the same pool and the times would measure the contention rather than the strategy
+ *
+ * Usage: SelfPlay [options] <first strategy> <second strategy>
+ *   --games N           The amount of games to play, 100 by default
+ *   --dimension N       The dimension of the board, 3 by default
+ *   --win N             The amount needed to win, 3 by default
+ *   --time MILLIS       How long each move may take, 100 by default
+ *   --parallel N        The amount of games to play at once, the amount of processors by default
+ *   --random-openings N The amount of random moves each game starts with so deterministic strategies vary, 0 by default
+ *                       A random move never wins or lets the other side win straight away
+ *   --seed N            Seeds the random openings
+ */
+public class SelfPlay {
+
+    public static final int VOID = -2; //The winner of a game no random opening move could be found for, it isn't counted
+
+    private final String[] NAMES; //The strategy of each side, NAMES[Board.PLAYER_ONE] is the first strategy
+    private final int DIMENSION; //The dimension of the board
+    private final int AMOUNT_NEEDED_TO_WIN; //The amount needed to win
+    private final long THINKING_TIME; //How long each move may take
+    private final int RANDOM_OPENINGS; //The amount of random moves each game starts with
+
+    /**
+     *
+     * @param first The name of the first strategy
+     * @param second The name of the second strategy
+     * @param dimension The dimension of the board
+     * @param amountToWin The amount needed to win
+     * @param thinkingTime How long each move may take in milliseconds
+     * @param randomOpenings The amount of random moves each game starts with
+     */
+    public SelfPlay(String first, String second, int dimension, int amountToWin, long thinkingTime, int randomOpenings) {
+        this.NAMES = new String[] {first, second};
+        this.DIMENSION = dimension;
+        this.AMOUNT_NEEDED_TO_WIN = amountToWin;
+        this.THINKING_TIME = thinkingTime;
+        this.RANDOM_OPENINGS = randomOpenings;
+    }
+
+    /**
+     * The result of a game, along with how each side's moves went
+     */
+    public static class GameResult {
+
+        private final int WINNER; //The side that won, Board.NOBODY for a draw
+        private final int[] MOVES = new int[2]; //The amount of moves each side picked
+        private final long[] NANOS = new long[2]; //How long each side spent picking them
+        private final long[] NODES = new long[2]; //The amount of positions each side looked at
+
+        private GameResult(int winner, int[] moves, long[] nanos, long[] nodes) {
+            this.WINNER = winner;
+            System.arraycopy(moves, 0, MOVES, 0, 2);
+            System.arraycopy(nanos, 0, NANOS, 0, 2);
+            System.arraycopy(nodes, 0, NODES, 0, 2);
+        }
+
+        /**
+         *
+         * @return the side that won, Board.NOBODY for a draw or VOID if the game isn't counted
+         */
+        public int getWinner() {
+            return WINNER;
+        }
+    }
+
+    /**
+     * Plays one game with fresh strategies, as strategies keep search state between moves
+     * @param starter The side that moves first
+     * @param random Picks the random opening moves
+     * @return the result of the game
+     */
+    public GameResult playGame(int starter, Random random) {
+        return playGame(starter, random, false);
+    }
+
+    /**
+     * Plays one game with fresh strategies, as strategies keep search state between moves
+     * @param starter The side that moves first
+     * @param random Picks the random opening moves
+     * @param singleThreaded Whether negamax searches with a single thread, for games played alongside others
+     * @return the result of the game
+     */
+    private GameResult playGame(int starter, Random random, boolean singleThreaded) {
+
+        MoveStrategy[] strategies = {
+                createStrategy(NAMES[0], singleThreaded),
+                createStrategy(NAMES[1], singleThreaded)
+        };
+
+        Board board = new Board(DIMENSION, AMOUNT_NEEDED_TO_WIN);
+        int[] moves = new int[2];
+        long[] nanos = new long[2], nodes = new long[2];
+        int side = starter;
+
+        board.setSideToMove(side);
+
+        while (!board.isFull()) {
+
+            int cell;
+
+            if (board.getMoveCount() < RANDOM_OPENINGS) {
+
+                cell = randomOpeningMove(board, random);
+
+                if (cell == -1)
+                    return new GameResult(VOID, moves, nanos, nodes);
+
+            } else {
+                MoveResult result = strategies[side].selectMove(new BoardSnapshot(board), side);
+
+                cell = result.getMove();
+                moves[side]++;
+                nanos[side] += result.getElapsedNanos();
+                nodes[side] += result.getNodeCount();
+            }
+
+            if (board.play(cell))
+                return new GameResult(side, moves, nanos, nodes);
+
+            side = 1 - side;
+        }
+
+        return new GameResult(Board.NOBODY, moves, nanos, nodes);
+    }
+
+    /**
+     * Creates a strategy by name
+     * @param name The name the strategy was registered under
+     * @param singleThreaded Whether negamax, and the book's fallback to it, searches with a single thread
+     * @return the new strategy
+     */
+    private MoveStrategy createStrategy(String name, boolean singleThreaded) {
+
+        if (singleThreaded && name.equalsIgnoreCase(NegamaxStrategy.NAME))
+            return StrategyRegistry.create(NegamaxStrategy.SERIAL_NAME, THINKING_TIME);
+
+        if (singleThreaded && name.equalsIgnoreCase(BookStrategy.NAME))
+            return new BookStrategy(StrategyRegistry.create(NegamaxStrategy.SERIAL_NAME, THINKING_TIME));
+
+        return StrategyRegistry.create(name, THINKING_TIME);
+    }
+
+    /**
+     * Picks a random opening move that neither wins nor lets the other side win with its next move, so a game
+     * is never decided by the random moves
+     * @param board The board to move on
+     * @param random Picks the move
+     * @return the move, -1 if every free cell either wins or loses
+     */
+    private static int randomOpeningMove(Board board, Random random) {
+
+        int[] free = new int[board.getCellCount() - board.getMoveCount()];
+        int count = 0;
+
+        for (int cell = board.nextFreeCell(0); cell != -1; cell = board.nextFreeCell(cell + 1))
+            free[count++] = cell;
+
+        //Tries the cells in a random order, shuffling only as far as it needs to
+        for (int i = 0; i < count; i++) {
+
+            int pick = i + random.nextInt(count - i);
+            int cell = free[pick];
+            free[pick] = free[i];
+
+            boolean decided = board.play(cell);
+
+            for (int reply = board.nextFreeCell(0); !decided && reply != -1; reply = board.nextFreeCell(reply + 1)) {
+                decided = board.play(reply);
+                board.undo();
+            }
+
+            board.undo();
+
+            if (!decided)
+                return cell;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Plays a set of games in parallel, the first strategy starts the even games and the second the odd ones
+     * @param games The amount of games to play
+     * @param parallelism The amount of games to play at once
+     * @param seed Seeds the random openings of each game
+     * @return the result of every game
+     * @throws InterruptedException if the thread is interrupted while waiting for the games
+     */
+    public List<GameResult> playGames(int games, int parallelism, long seed) throws InterruptedException {
+
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        List<Future<GameResult>> futures = new ArrayList<>();
+        List<GameResult> results = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < games; i++) {
+                final int game = i;
+                futures.add(pool.submit(() -> playGame(game % 2, new Random(seed + game), parallelism > 1)));
+            }
+
+            for (Future<GameResult> future : futures)
+                results.add(future.get());
+
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A game has failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        return results;
+    }
+
+    /**
+     * Prints the win, draw and loss rates of each strategy along with how quickly they picked their moves
+     * @param results The results of the games
+     * @param elapsedMillis How long the games took
+     */
+    public void printSummary(List<GameResult> results, long elapsedMillis) {
+
+        List<GameResult> counted = new ArrayList<>();
+
+        for (GameResult result : results)
+            if (result.WINNER != VOID)
+                counted.add(result);
+
+        System.out.printf("%s vs %s on %dx%d, %d to win, %d games, %dms per move, %.1fs\n", NAMES[0], NAMES[1],
+                DIMENSION, DIMENSION, AMOUNT_NEEDED_TO_WIN, counted.size(), THINKING_TIME, elapsedMillis / 1000.0);
+
+        if (counted.size() < results.size())
+            System.out.printf("%d games weren't counted as no random opening move was left that didn't decide them\n",
+                    results.size() - counted.size());
+
+        System.out.printf("%-16s %8s %8s %8s %14s %14s\n", "strategy", "wins", "draws", "losses", "mean move ms", "nodes/s");
+
+        for (int side = Board.PLAYER_ONE; side <= Board.PLAYER_TWO; side++) {
+
+            int wins = 0, draws = 0, losses = 0, moves = 0;
+            long nanos = 0, nodes = 0;
+
+            for (GameResult result : counted) {
+                if (result.WINNER == side)
+                    wins++;
+                else if (result.WINNER == Board.NOBODY)
+                    draws++;
+                else
+                    losses++;
+
+                moves += result.MOVES[side];
+                nanos += result.NANOS[side];
+                nodes += result.NODES[side];
+            }
+
+            double games = Math.max(counted.size(), 1);
+
+            System.out.printf("%-16s %7.1f%% %7.1f%% %7.1f%% %14.3f %14d\n", NAMES[side],
+                    wins * 100 / games, draws * 100 / games, losses * 100 / games,
+                    moves == 0 ? 0 : nanos / 1e6 / moves, nanos == 0 ? 0 : nodes * 1_000_000_000L / nanos);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+
+        int games = 100, dimension = 3, amountToWin = 3, randomOpenings = 0;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        long thinkingTime = 100, seed = System.nanoTime();
+        List<String> names = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--games":
+                    games = Integer.parseInt(args[++i]);
+                    break;
+                case "--dimension":
+                    dimension = Integer.parseInt(args[++i]);
+                    break;
+                case "--win":
+                    amountToWin = Integer.parseInt(args[++i]);
+                    break;
+                case "--time":
+                    thinkingTime = Long.parseLong(args[++i]);
+                    break;
+                case "--parallel":
+                    parallelism = Integer.parseInt(args[++i]);
+                    break;
+                case "--random-openings":
+                    randomOpenings = Integer.parseInt(args[++i]);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                default:
+                    names.add(args[i]);
+            }
+        }
+
+        if (names.size() != 2) {
+            System.out.println("Usage: SelfPlay [--games N] [--dimension N] [--win N] [--time MILLIS] [--parallel N]"
+                    + " [--random-openings N] [--seed N] <first strategy> <second strategy>");
+            System.out.println("Strategies: " + String.join(", ", StrategyRegistry.getNames()));
+            return;
+        }
+
+        SelfPlay selfPlay = new SelfPlay(names.get(0), names.get(1), dimension, amountToWin, thinkingTime, randomOpenings);
+
+        long start = System.currentTimeMillis();
+        List<GameResult> results = selfPlay.playGames(games, parallelism, seed);
+
+        selfPlay.printSummary(results, System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,75 @@
+package game.models.ai;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongFunction;
+
+/**
+ * Creates move strategies by name. Every strategy is built from the amount of milliseconds it may think for,
+ * so new engines can be added and picked for a board size without changing the code that plays the moves
+ */
+public final class StrategyRegistry {
+
+    public static final int MONTE_CARLO_DIMENSION = 6; //From this dimension up the tree is too big to search exhaustively
+
+    //The factory of every registered strategy, in the order they were registered
+    private static final Map<String, LongFunction<MoveStrategy>> FACTORIES = new LinkedHashMap<>();
+
+    static {
+        register(HeuristicStrategy.NAME, thinkingTime -> new HeuristicStrategy());
+        register(RandomStrategy.NAME, thinkingTime -> new RandomStrategy());
+        register(NegamaxStrategy.NAME, thinkingTime -> new NegamaxStrategy(NegamaxStrategy.UNLIMITED_DEPTH,
+                Runtime.getRuntime().availableProcessors(), thinkingTime));
+        register(NegamaxStrategy.SERIAL_NAME, thinkingTime -> new NegamaxStrategy(NegamaxStrategy.UNLIMITED_DEPTH,
+                1, thinkingTime));
+        register(MctsStrategy.NAME, MctsStrategy::new);
+        register(BookStrategy.NAME, thinkingTime -> new BookStrategy(create(NegamaxStrategy.NAME, thinkingTime)));
+    }
+
+    private StrategyRegistry() {
+    }
+
+    /**
+     * Adds a strategy, replacing any strategy already registered under the same name
+     * @param name The name to create the strategy by
+     * @param factory Creates the strategy from the amount of milliseconds it may think for
+     */
+    public static synchronized void register(String name, LongFunction<MoveStrategy> factory) {
+        FACTORIES.put(name.toLowerCase(), factory);
+    }
+
+    /**
+     * Creates a new instance of a strategy, strategies keep search state so each player needs its own
+     * @param name The name the strategy was registered under, it's not case sensitive
+     * @param thinkingTime The amount of milliseconds the strategy may think for each move, 0 for no limit
+     * @return the new strategy
+     */
+    public static synchronized MoveStrategy create(String name, long thinkingTime) {
+
+        LongFunction<MoveStrategy> factory = FACTORIES.get(name.toLowerCase());
+
+        if (factory == null)
+            throw new IllegalArgumentException("No strategy is registered as " + name + ", try one of " + getNames());
+
+        return factory.apply(thinkingTime);
+    }
+
+    /**
+     *
+     * @return the names of every registered strategy
+     */
+    public static synchronized List<String> getNames() {
+        return new ArrayList<>(FACTORIES.keySet());
+    }
+
+    /**
+     *
+     * @param dimension The dimension of the board
+     * @return the name of the strongest strategy for the board size, small boards use their book when there is one
+     */
+    public static String getDefaultName(int dimension) {
+        return dimension >= MONTE_CARLO_DIMENSION ? MctsStrategy.NAME : BookStrategy.NAME;
+    }
+}
@@ -0,0 +1,319 @@
+package game.models.ai;
+
+import game.models.engine.Board;
+
+import java.util.Arrays;
+
+/**
+ * Scores a position by its threats. Every row, column and diagonal is split into runs of one side's cells,
+ * and each run shorter than the amount needed to win that still has room to grow into a win is counted as
+ * open, if both of its ends are free, or half open, if only one is. Longer and more open runs score more.
+ * The counts of every line are kept, so after a move only the four lines through the cell are counted again
+ */
+public class ThreatEvaluator {
+
+    public static final int MAX_SCORE = NegamaxSearch.WIN_SCORE / 4; //Scores are kept well clear of a win
+
+    private static final int HALF_OPEN = 0; //A run with one free end
+    private static final int OPEN = 1; //A run with two free ends
+    private static final int[] STEPS_COLUMN = {1, 0, 1, -1}; //The column step of each direction, right, down and both diagonals
+    private static final int[] STEPS_ROW = {0, 1, 1, 1}; //The row step of each direction
+
+    private final int DIMENSION; //The dimension of the board
+    private final int AMOUNT_NEEDED_TO_WIN; //The amount needed to win
+    private final int LINE_COUNT; //The amount of rows, columns and diagonals long enough to win on
+    private final int[] LINE_START; //The first cell of each line
+    private final int[] LINE_STEP; //The index step between the cells of each line
+    private final int[] LINE_LENGTH; //The amount of cells in each line
+    private final int[] CELL_LINES; //The line through each cell in each direction, CELL_LINES[cell * 4 + direction], -1 if it's too short
+    private final int[] LINE_COUNTS; //The runs of each line, indexed by countIndex after the line's offset
+    private final int[] TOTAL_COUNTS; //The runs of the whole board, indexed by countIndex
+    private final int[] SCRATCH_COUNTS; //Counts a line with a move that hasn't been played
+    private final int[] LINE_OWNERS; //The owner of each cell of the line being counted, read once per count
+    private final int[] WEIGHTS; //The score of a run, indexed by countIndex
+    private final int COUNTS_PER_LINE; //The amount of counters each line has
+
+    /**
+     *
+     * @param dimension The dimension of the board
+     * @param amountToWin The amount needed to win
+     */
+    public ThreatEvaluator(int dimension, int amountToWin) {
+
+        this.DIMENSION = dimension;
+        this.AMOUNT_NEEDED_TO_WIN = amountToWin;
+        this.COUNTS_PER_LINE = 2 * 2 * amountToWin;
+
+        int maxLines = 6 * dimension;
+        int[] starts = new int[maxLines], steps = new int[maxLines], lengths = new int[maxLines];
+        int lineCount = 0;
+
+        this.CELL_LINES = new int[dimension * dimension * 4];
+        Arrays.fill(CELL_LINES, -1);
+
+        //Walks every line from each cell it can start on, a cell starts a line if the cell before it is off the board
+        for (int direction = 0; direction < 4; direction++) {
+            for (int cell = 0; cell < dimension * dimension; cell++) {
+
+                int col = cell % dimension, row = cell / dimension;
+
+                if (isOnBoard(col - STEPS_COLUMN[direction], row - STEPS_ROW[direction]))
+                    continue;
+
+                int length = 0;
+
+                while (isOnBoard(col + STEPS_COLUMN[direction] * length, row + STEPS_ROW[direction] * length))
+                    length++;
+
+                if (length < amountToWin)
+                    continue;
+
+                starts[lineCount] = cell;
+                steps[lineCount] = STEPS_ROW[direction] * dimension + STEPS_COLUMN[direction];
+                lengths[lineCount] = length;
+
+                for (int i = 0; i < length; i++)
+                    CELL_LINES[(cell + steps[lineCount] * i) * 4 + direction] = lineCount;
+
+                lineCount++;
+            }
+        }
+
+        this.LINE_COUNT = lineCount;
+        this.LINE_START = Arrays.copyOf(starts, lineCount);
+        this.LINE_STEP = Arrays.copyOf(steps, lineCount);
+        this.LINE_LENGTH = Arrays.copyOf(lengths, lineCount);
+        this.LINE_COUNTS = new int[lineCount * COUNTS_PER_LINE];
+        this.TOTAL_COUNTS = new int[COUNTS_PER_LINE];
+        this.SCRATCH_COUNTS = new int[COUNTS_PER_LINE];
+        this.LINE_OWNERS = new int[dimension];
+        this.WEIGHTS = new int[COUNTS_PER_LINE];
+
+        //A half open run is worth ten times a run one shorter, an open run as much as a half open run one longer
+        for (int side = Board.PLAYER_ONE; side <= Board.PLAYER_TWO; side++) {
+            long weight = 1;
+
+            for (int length = 1; length < amountToWin; length++) {
+                WEIGHTS[countIndex(side, HALF_OPEN, length)] = (int) Math.min(weight, MAX_SCORE);
+                WEIGHTS[countIndex(side, OPEN, length)] = (int) Math.min(weight * 10, MAX_SCORE);
+                weight = Math.min(weight * 10, MAX_SCORE);
+            }
+        }
+    }
+
+    /**
+     *
+     * @param col The column of the cell
+     * @param row The row of the cell
+     * @return true if the cell is on the board
+     */
+    private boolean isOnBoard(int col, int row) {
+        return col >= 0 && row >= 0 && col < DIMENSION && row < DIMENSION;
+    }
+
+    /**
+     *
+     * @param side The side that owns the run
+     * @param kind OPEN or HALF_OPEN
+     * @param length The length of the run
+     * @return the index of the run's counter
+     */
+    private int countIndex(int side, int kind, int length) {
+        return (side * 2 + kind) * AMOUNT_NEEDED_TO_WIN + length;
+    }
+
+    /**
+     * Counts every line of a board from scratch, it's done once before a search
+     * @param board The board to count, it must be the size the evaluator was made for
+     */
+    public void reset(Board board) {
+
+        Arrays.fill(TOTAL_COUNTS, 0);
+
+        for (int line = 0; line < LINE_COUNT; line++) {
+            countLine(board, line, -1, Board.NOBODY, LINE_COUNTS, line * COUNTS_PER_LINE);
+
+            for (int i = 0; i < COUNTS_PER_LINE; i++)
+                TOTAL_COUNTS[i] += LINE_COUNTS[line * COUNTS_PER_LINE + i];
+        }
+    }
+
+    /**
+     * Counts the lines through a cell again after it has been played on or freed
+     * @param board The board after the change
+     * @param cell The index of the cell that changed
+     */
+    public void update(Board board, int cell) {
+
+        for (int direction = 0; direction < 4; direction++) {
+
+            int line = CELL_LINES[cell * 4 + direction];
+
+            if (line == -1)
+                continue;
+
+            int offset = line * COUNTS_PER_LINE;
+
+            for (int i = 0; i < COUNTS_PER_LINE; i++)
+                TOTAL_COUNTS[i] -= LINE_COUNTS[offset + i];
+
+            countLine(board, line, -1, Board.NOBODY, LINE_COUNTS, offset);
+
+            for (int i = 0; i < COUNTS_PER_LINE; i++)
+                TOTAL_COUNTS[i] += LINE_COUNTS[offset + i];
+        }
+    }
+
+    /**
+     *
+     * @param side The side to score for
+     * @return the score of the board from the point of view of side, positive if side has the better threats
+     */
+    public int evaluate(int side) {
+        int score = weigh(TOTAL_COUNTS, 0, side);
+
+        return Math.max(-MAX_SCORE, Math.min(MAX_SCORE, score));
+    }
+
+    /**
+     * Scores how much playing on a free cell would change the board in a side's favour, without playing it.
+     * It counts both the threats the move makes and the ones it blocks
+     * @param board The board, the cell must be free
+     * @param cell The index of the cell
+     * @param side The side that would play on the cell
+     * @return the change in score from the point of view of side
+     */
+    public int scoreMove(Board board, int cell, int side) {
+
+        int delta = 0;
+
+        for (int direction = 0; direction < 4; direction++) {
+
+            int line = CELL_LINES[cell * 4 + direction];
+
+            if (line == -1)
+                continue;
+
+            countLine(board, line, cell, side, SCRATCH_COUNTS, 0);
+            delta += weigh(SCRATCH_COUNTS, 0, side) - weigh(LINE_COUNTS, line * COUNTS_PER_LINE, side);
+        }
+
+        return delta;
+    }
+
+    /**
+     *
+     * @param side The side that owns the runs
+     * @param length The length of the runs, from 1 to the amount needed to win - 1
+     * @return the amount of runs of the length on the board with both ends free
+     */
+    public int getOpenRuns(int side, int length) {
+        return TOTAL_COUNTS[countIndex(side, OPEN, length)];
+    }
+
+    /**
+     *
+     * @param side The side that owns the runs
+     * @param length The length of the runs, from 1 to the amount needed to win - 1
+     * @return the amount of runs of the length on the board with one end free
+     */
+    public int getHalfOpenRuns(int side, int length) {
+        return TOTAL_COUNTS[countIndex(side, HALF_OPEN, length)];
+    }
+
+    /**
+     *
+     * @return the dimension of the board the evaluator is for
+     */
+    public int getDimension() {
+        return DIMENSION;
+    }
+
+    /**
+     *
+     * @return the amount needed to win on the board the evaluator is for
+     */
+    public int getAmountNeededToWin() {
+        return AMOUNT_NEEDED_TO_WIN;
+    }
+
+    /**
+     * Scores a set of run counters
+     * @param counts The array holding the counters
+     * @param offset The index of the first counter
+     * @param side The side to score for
+     * @return the weighted runs of side less the weighted runs of the other side
+     */
+    private int weigh(int[] counts, int offset, int side) {
+
+        int score = 0;
+        int half = COUNTS_PER_LINE / 2;
+
+        for (int i = 0; i < COUNTS_PER_LINE; i++) {
+            int value = counts[offset + i] * WEIGHTS[i];
+            score += (i < half) == (side == Board.PLAYER_ONE) ? value : -value;
+        }
+
+        return score;
+    }
+
+    /**
+     * Counts the runs of a line
+     * @param board The board
+     * @param line The index of the line
+     * @param extraCell A free cell to treat as played on, or -1
+     * @param extraSide The side to treat as having played on extraCell
+     * @param counts The array to write the counters to
+     * @param offset The index of the line's first counter
+     */
+    private void countLine(Board board, int line, int extraCell, int extraSide, int[] counts, int offset) {
+
+        for (int i = 0; i < COUNTS_PER_LINE; i++)
+            counts[offset + i] = 0;
+
+        int length = LINE_LENGTH[line];
+        int[] owners = LINE_OWNERS;
+
+        for (int i = 0, cell = LINE_START[line]; i < length; i++, cell += LINE_STEP[line])
+            owners[i] = cell == extraCell ? extraSide : board.getOwner(cell);
+
+        int i = 0;
+
+        while (i < length) {
+
+            int side = owners[i];
+
+            if (side == Board.NOBODY) {
+                i++;
+                continue;
+            }
+
+            int end = i + 1;
+
+            while (end < length && owners[end] == side)
+                end++;
+
+            int runLength = end - i;
+
+            if (runLength < AMOUNT_NEEDED_TO_WIN) {
+
+                boolean startFree = i > 0 && owners[i - 1] == Board.NOBODY;
+                boolean endFree = end < length && owners[end] == Board.NOBODY;
+
+                //A run hemmed in by the other side or the edge of the board can never win, so it isn't a threat
+                int room = runLength;
+
+                for (int before = i - 1; before >= 0 && room < AMOUNT_NEEDED_TO_WIN && owners[before] != 1 - side; before--)
+                    room++;
+
+                for (int after = end; after < length && room < AMOUNT_NEEDED_TO_WIN && owners[after] != 1 - side; after++)
+                    room++;
+
+                if ((startFree || endFree) && room >= AMOUNT_NEEDED_TO_WIN)
+                    counts[offset + countIndex(side, startFree && endFree ? OPEN : HALF_OPEN, runLength)]++;
+            }
+
+            i = end;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package game.models.ai;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed size table of searched positions keyed by zobrist hash. Entries are packed into two primitive arrays,
+ * one key and one data word per slot, so the table never allocates once it has been created.
+ * A slot keeps the deeper of two searches unless the stored entry is left over from an earlier search.
+ * The key is stored xor'd with the data so that a slot torn by two threads writing at once reads as a miss
+ */
+public class TranspositionTable {
+
+    public static final int EXACT = 0; //The stored score is the true score of the position
+    public static final int LOWER_BOUND = 1; //The search failed high, the true score is at least the stored score
+    public static final int UPPER_BOUND = 2; //The search failed low, the true score is at most the stored score
+
+    public static final long MISS = 0; //Returned by probe when the position is not in the table
+
+    private final long[] KEYS; //The key of each slot xor'd with its data
+    private final long[] DATA; //The packed entry of each slot
+    private final int INDEX_MASK; //Maps a hash onto a slot
+
+    //Counters to observe how well the table performs, adders so the workers of a parallel search don't lose counts
+    private final LongAdder PROBE_COUNT, HIT_COUNT, STORE_COUNT;
+
+    private int generation; //Counts the searches so entries from earlier ones can be replaced
+
+    /**
+     *
+     * @param sizeBits The table holds 2^sizeBits entries, each entry takes 16 bytes
+     */
+    public TranspositionTable(int sizeBits) {
+
+        this.KEYS = new long[1 << sizeBits];
+        this.DATA = new long[1 << sizeBits];
+        this.INDEX_MASK = (1 << sizeBits) - 1;
+        this.PROBE_COUNT = new LongAdder();
+        this.HIT_COUNT = new LongAdder();
+        this.STORE_COUNT = new LongAdder();
+    }
+
+    /**
+     * Marks the start of a new search so entries from previous searches can be replaced
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0x1F;
+    }
+
+    /**
+     * Looks up a position
+     * @param key The hash of the position
+     * @return the packed entry, read with the static getters, or MISS if the position is not in the table
+     */
+    public long probe(long key) {
+
+        int index = (int) key & INDEX_MASK;
+        long data = DATA[index];
+
+        PROBE_COUNT.increment();
+
+        if (data == MISS || (KEYS[index] ^ data) != key)
+            return MISS;
+
+        HIT_COUNT.increment();
+
+        return data;
+    }
+
+    /**
+     * Stores the result of searching a position
+     * @param key The hash of the position
+     * @param score The score of the position
+     * @param depth The depth the position was searched to
+     * @param bound EXACT, LOWER_BOUND or UPPER_BOUND
+     * @param move The best move found, or -1 if there wasn't one
+     */
+    public void store(long key, int score, int depth, int bound, int move) {
+
+        int index = (int) key & INDEX_MASK;
+        long old = DATA[index];
+
+        //Keeps a deeper entry from this search rather than overwrite it with a shallower one
+        if (old != MISS && getGeneration(old) == generation && getDepth(old) > depth && (KEYS[index] ^ old) != key)
+            return;
+
+        //Layout: score 32 bits | move 16 bits | depth 8 bits | generation 5 bits | used 1 bit | bound 2 bits
+        //The used bit means a stored entry can never look like a miss
+        long data = ((long) score << 32)
+                | ((long) (move & 0xFFFF) << 16)
+                | ((long) (depth & 0xFF) << 8)
+                | ((long) generation << 3)
+                | (1L << 2)
+                | bound;
+
+        KEYS[index] = key ^ data;
+        DATA[index] = data;
+
+        STORE_COUNT.increment();
+    }
+
+    /**
+     *
+     * @param data An entry returned by probe
+     * @return the stored score
+     */
+    public static int getScore(long data) {
+        return (int) (data >> 32);
+    }
+
+    /**
+     *
+     * @param data An entry returned by probe
+     * @return the stored best move, or -1 if there wasn't one
+     */
+    public static int getMove(long data) {
+        int move = (int) (data >>> 16) & 0xFFFF;
+        return move == 0xFFFF ? -1 : move;
+    }
+
+    /**
+     *
+     * @param data An entry returned by probe
+     * @return the depth the position was searched to
+     */
+    public static int getDepth(long data) {
+        return (int) (data >>> 8) & 0xFF;
+    }
+
+    /**
+     *
+     * @param data An entry returned by probe
+     * @return EXACT, LOWER_BOUND or UPPER_BOUND
+     */
+    public static int getBound(long data) {
+        return (int) data & 0x3;
+    }
+
+    /**
+     *
+     * @param data An entry
+     * @return the search the entry was stored in
+     */
+    private int getGeneration(long data) {
+        return (int) (data >>> 3) & 0x1F;
+    }
+
+    /**
+     * Empties the table and resets its counters
+     */
+    public void clear() {
+        for (int i = 0; i < DATA.length; i++) {
+            KEYS[i] = 0;
+            DATA[i] = MISS;
+        }
+
+        PROBE_COUNT.reset();
+        HIT_COUNT.reset();
+        STORE_COUNT.reset();
+    }
+
+    /**
+     *
+     * @return the amount of slots in the table
+     */
+    public int getCapacity() {
+        return DATA.length;
+    }
+
+    /**
+     *
+     * @return the amount of memory the table takes up in bytes
+     */
+    public long getMemoryBytes() {
+        return (long) DATA.length * 2 * Long.BYTES;
+    }
+
+    /**
+     *
+     * @return the amount of lookups made since the table was created or cleared
+     */
+    public long getProbeCount() {
+        return PROBE_COUNT.sum();
+    }
+
+    /**
+     *
+     * @return the amount of lookups that found their position
+     */
+    public long getHitCount() {
+        return HIT_COUNT.sum();
+    }
+
+    /**
+     *
+     * @return the amount of entries written
+     */
+    public long getStoreCount() {
+        return STORE_COUNT.sum();
+    }
+
+    /**
+     *
+     * @return the fraction of lookups that found their position, from 0 to 1
+     */
+    public double getHitRate() {
+        long probes = getProbeCount();
+
+        return probes == 0 ? 0 : (double) getHitCount() / probes;
+    }
+}
@@ -0,0 +1,498 @@
+package game.models.engine;
+
+/**
+ * A headless model of the game board. The ownership of every cell is packed into primitive long bitboards,
+ * one per side, so that rules queries never have to walk the scene graph.
+ * Cells are indexed in row major order, cell = row * dimension + column
+ */
+public class Board {
+
+    public static final int NOBODY = -1; //The owner of a cell that has not been played on
+    public static final int PLAYER_ONE = 0; //The side of the non computer player
+    public static final int PLAYER_TWO = 1; //The side of the computer player
+
+    private final int DIMENSION; //The dimension of the board
+    private final int AMOUNT_NEEDED_TO_WIN; //The amount of cells that have to be linked with the same side to win
+    private final int CELL_COUNT; //The total amount of cells on the board
+    private final long[] FULL_MASK; //A bitboard with every cell of the board set
+    private final long[][] BITBOARDS; //The cells owned by each side, BITBOARDS[side][word]
+    private final WinLines WIN_LINES; //The shared table of the lines that win on this board
+    private final ZobristKeys ZOBRIST_KEYS; //The shared keys used to hash the board
+    private final long[] HASHES; //The hash of the board under each symmetry, HASHES[ZobristKeys.IDENTITY] is the plain hash
+
+    private final int[] MOVE_STACK; //The cells played with play, in order, so they can be taken back with undo
+
+    private int moveCount; //The amount of cells that have been played on
+    private int stackSize; //The amount of moves in MOVE_STACK
+    private int sideToMove; //The side that plays next when play is called
+
+    /**
+     *
+     * @param dimension The dimension of the board
+     * @param amountToWin The amount needed to be matched for a side to win the game
+     */
+    public Board(int dimension, int amountToWin) {
+
+        this.DIMENSION = dimension;
+        this.AMOUNT_NEEDED_TO_WIN = amountToWin;
+        this.CELL_COUNT = dimension * dimension;
+
+        int wordCount = (CELL_COUNT + 63) >>> 6;
+
+        this.FULL_MASK = new long[wordCount];
+        this.BITBOARDS = new long[2][wordCount];
+        this.WIN_LINES = WinLines.forBoard(dimension, amountToWin);
+        this.ZOBRIST_KEYS = ZobristKeys.forDimension(dimension);
+        this.HASHES = new long[ZobristKeys.SYMMETRY_COUNT];
+        this.MOVE_STACK = new int[CELL_COUNT];
+        this.sideToMove = PLAYER_ONE;
+
+        //Sets a bit for every cell, the last word may only be partly used
+        for (int cell = 0; cell < CELL_COUNT; cell++)
+            FULL_MASK[cell >>> 6] |= 1L << cell;
+    }
+
+    /**
+     * Constructs a new board from a previous one
+     * @param b The board to copy
+     */
+    public Board(Board b) {
+        this(b.getDimension(), b.getAmountNeededToWin());
+        copyFrom(b);
+    }
+
+    /**
+     * Copies a board into a scratch board so searches can reuse one board from move to move
+     * @param source The board to copy
+     * @param scratch The board to copy into, may be null
+     * @return scratch if it is the same size as source, otherwise a new copy of source
+     */
+    public static Board copyOf(Board source, Board scratch) {
+
+        if (scratch == null || scratch.DIMENSION != source.DIMENSION
+                || scratch.AMOUNT_NEEDED_TO_WIN != source.AMOUNT_NEEDED_TO_WIN)
+            return new Board(source);
+
+        scratch.copyFrom(source);
+
+        return scratch;
+    }
+
+    /**
+     * Makes this board a copy of another without allocating
+     * @param b The board to copy, it must have the same dimension and amount needed to win
+     */
+    public void copyFrom(Board b) {
+
+        if (b.DIMENSION != DIMENSION || b.AMOUNT_NEEDED_TO_WIN != AMOUNT_NEEDED_TO_WIN)
+            throw new IllegalArgumentException("Boards of different sizes can't be copied between");
+
+        for (int side = PLAYER_ONE; side <= PLAYER_TWO; side++)
+            System.arraycopy(b.BITBOARDS[side], 0, BITBOARDS[side], 0, BITBOARDS[side].length);
+
+        System.arraycopy(b.HASHES, 0, HASHES, 0, HASHES.length);
+        System.arraycopy(b.MOVE_STACK, 0, MOVE_STACK, 0, b.stackSize);
+
+        this.moveCount = b.moveCount;
+        this.stackSize = b.stackSize;
+        this.sideToMove = b.sideToMove;
+    }
+
+    /**
+     *
+     * @return Board dimension
+     */
+    public int getDimension() {
+        return DIMENSION;
+    }
+
+    /**
+     *
+     * @return Amount needed to win a game
+     */
+    public int getAmountNeededToWin() {
+        return AMOUNT_NEEDED_TO_WIN;
+    }
+
+    /**
+     *
+     * @return The shared table of the lines that win on this board
+     */
+    public WinLines getWinLines() {
+        return WIN_LINES;
+    }
+
+    /**
+     *
+     * @return The total amount of cells on the board
+     */
+    public int getCellCount() {
+        return CELL_COUNT;
+    }
+
+    /**
+     * Converts a column and row to a cell index
+     * @param col The column of the cell
+     * @param row The row of the cell
+     * @return the index of the cell
+     */
+    public int cellIndex(int col, int row) {
+        return row * DIMENSION + col;
+    }
+
+    /**
+     *
+     * @param cell The index of the cell
+     * @return the column of the cell
+     */
+    public int column(int cell) {
+        return cell % DIMENSION;
+    }
+
+    /**
+     *
+     * @param cell The index of the cell
+     * @return the row of the cell
+     */
+    public int row(int cell) {
+        return cell / DIMENSION;
+    }
+
+    /**
+     * Gets the side that owns a cell
+     * @param cell The index of the cell
+     * @return PLAYER_ONE, PLAYER_TWO or NOBODY if the cell has not been played on
+     */
+    public int getOwner(int cell) {
+
+        long bit = 1L << cell;
+
+        if ((BITBOARDS[PLAYER_ONE][cell >>> 6] & bit) != 0)
+            return PLAYER_ONE;
+
+        if ((BITBOARDS[PLAYER_TWO][cell >>> 6] & bit) != 0)
+            return PLAYER_TWO;
+
+        return NOBODY;
+    }
+
+    /**
+     * Gets the side that owns a cell
+     * @param col The column of the cell
+     * @param row The row of the cell
+     * @return PLAYER_ONE, PLAYER_TWO or NOBODY if the cell has not been played on
+     */
+    public int getOwner(int col, int row) {
+        return getOwner(cellIndex(col, row));
+    }
+
+    /**
+     *
+     * @param cell The index of the cell
+     * @param side The side to check
+     * @return true if the side has played on the cell
+     */
+    public boolean isOwnedBy(int cell, int side) {
+        return (BITBOARDS[side][cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    /**
+     *
+     * @param cell The index of the cell
+     * @return true if no side has played on the cell
+     */
+    public boolean isFree(int cell) {
+        int word = cell >>> 6;
+        return ((BITBOARDS[PLAYER_ONE][word] | BITBOARDS[PLAYER_TWO][word]) & (1L << cell)) == 0;
+    }
+
+    /**
+     * Gives a cell to a side, replacing any previous owner. Moves placed this way are not recorded for undo
+     * @param cell The index of the cell
+     * @param side The side that has played on the cell
+     */
+    public void place(int cell, int side) {
+        remove(cell);
+
+        BITBOARDS[side][cell >>> 6] |= 1L << cell;
+        moveCount++;
+
+        updateHashes(cell, side);
+    }
+
+    /**
+     * Frees a cell so that no side owns it
+     * @param cell The index of the cell
+     */
+    public void remove(int cell) {
+
+        int side = getOwner(cell);
+
+        if (side == NOBODY)
+            return;
+
+        long mask = ~(1L << cell);
+        moveCount--;
+
+        updateHashes(cell, side);
+
+        BITBOARDS[PLAYER_ONE][cell >>> 6] &= mask;
+        BITBOARDS[PLAYER_TWO][cell >>> 6] &= mask;
+    }
+
+    /**
+     * Plays a move for the side to move and hands the turn to the other side. Unlike place it does no checks,
+     * so the cell must be free. The bitboards, hashes and move count are updated in place, nothing is allocated
+     * @param cell The index of a free cell
+     * @return true if the move won the game
+     */
+    public boolean play(int cell) {
+
+        int side = sideToMove;
+
+        BITBOARDS[side][cell >>> 6] |= 1L << cell;
+        moveCount++;
+        updateHashes(cell, side);
+
+        MOVE_STACK[stackSize++] = cell;
+        sideToMove = 1 - side;
+
+        return WIN_LINES.findWinningLine(this, cell, side) != -1;
+    }
+
+    /**
+     * Takes back the last move made with play and hands the turn back to the side that played it
+     * @return the index of the cell that was freed
+     */
+    public int undo() {
+
+        int cell = MOVE_STACK[--stackSize];
+        int side = 1 - sideToMove;
+
+        BITBOARDS[side][cell >>> 6] &= ~(1L << cell);
+        moveCount--;
+        updateHashes(cell, side);
+
+        sideToMove = side;
+
+        return cell;
+    }
+
+    /**
+     *
+     * @return the amount of moves made with play that can be taken back with undo
+     */
+    public int getUndoCount() {
+        return stackSize;
+    }
+
+    /**
+     *
+     * @return the side that plays next when play is called
+     */
+    public int getSideToMove() {
+        return sideToMove;
+    }
+
+    /**
+     * Sets whose turn it is, the side isn't part of the hash so searches mix it in themselves
+     * @param side PLAYER_ONE or PLAYER_TWO
+     */
+    public void setSideToMove(int side) {
+        this.sideToMove = side;
+    }
+
+    /**
+     * Frees every cell of the board
+     */
+    public void clear() {
+        for (int word = 0; word < FULL_MASK.length; word++) {
+            BITBOARDS[PLAYER_ONE][word] = 0;
+            BITBOARDS[PLAYER_TWO][word] = 0;
+        }
+
+        for (int symmetry = 0; symmetry < HASHES.length; symmetry++)
+            HASHES[symmetry] = 0;
+
+        moveCount = 0;
+        stackSize = 0;
+        sideToMove = PLAYER_ONE;
+    }
+
+    /**
+     * Toggles a side on a cell in the hash of every symmetry
+     * @param cell The index of the cell
+     * @param side The side that has been placed on or removed from the cell
+     */
+    private void updateHashes(int cell, int side) {
+        for (int symmetry = 0; symmetry < HASHES.length; symmetry++)
+            HASHES[symmetry] ^= ZOBRIST_KEYS.getKey(side, ZOBRIST_KEYS.transform(symmetry, cell));
+    }
+
+    /**
+     *
+     * @return the shared keys used to hash the board
+     */
+    public ZobristKeys getZobristKeys() {
+        return ZOBRIST_KEYS;
+    }
+
+    /**
+     *
+     * @return the zobrist hash of the board
+     */
+    public long getHash() {
+        return HASHES[ZobristKeys.IDENTITY];
+    }
+
+    /**
+     * Gets the symmetry that gives the board its canonical hash. Every rotation and reflection of a position
+     * has the same canonical hash, so cells seen through this symmetry are comparable between them
+     * @return the index of the symmetry with the smallest hash
+     */
+    public int getCanonicalSymmetry() {
+        int best = ZobristKeys.IDENTITY;
+
+        for (int symmetry = 1; symmetry < HASHES.length; symmetry++)
+            if (HASHES[symmetry] < HASHES[best])
+                best = symmetry;
+
+        return best;
+    }
+
+    /**
+     *
+     * @return the hash shared by every rotation and reflection of the board
+     */
+    public long getCanonicalHash() {
+        return HASHES[getCanonicalSymmetry()];
+    }
+
+    /**
+     * Gets the raw bitboard of a side, callers must not modify it
+     * @param side The side to get the bitboard of
+     * @return the words of the bitboard
+     */
+    public long[] getBitboard(int side) {
+        return BITBOARDS[side];
+    }
+
+    /**
+     *
+     * @return true if no cell has been played on
+     */
+    public boolean isEmpty() {
+        return moveCount == 0;
+    }
+
+    /**
+     *
+     * @return true if every cell has been played on
+     */
+    public boolean isFull() {
+        return moveCount == CELL_COUNT;
+    }
+
+    /**
+     *
+     * @return the amount of cells that have been played on
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     *
+     * @param side The side to count the cells of
+     * @return the amount of cells owned by the side
+     */
+    public int countCells(int side) {
+        int count = 0;
+
+        for (long word : BITBOARDS[side])
+            count += Long.bitCount(word);
+
+        return count;
+    }
+
+    /**
+     *
+     * @return the amount of cells no side has played on
+     */
+    public int countFreeCells() {
+        return CELL_COUNT - moveCount;
+    }
+
+    /**
+     * Finds the next free cell, this allows the free cells to be walked without allocating
+     * e.g. for (int c = board.nextFreeCell(0); c != -1; c = board.nextFreeCell(c + 1))
+     * @param from The index of the cell to start searching from
+     * @return the index of the first free cell at or after from, or -1 if there isn't one
+     */
+    public int nextFreeCell(int from) {
+
+        if (from >= CELL_COUNT)
+            return -1;
+
+        int word = from >>> 6;
+        long free = ~(BITBOARDS[PLAYER_ONE][word] | BITBOARDS[PLAYER_TWO][word]) & FULL_MASK[word] & (-1L << from);
+
+        while (free == 0) {
+            if (++word == FULL_MASK.length)
+                return -1;
+
+            free = ~(BITBOARDS[PLAYER_ONE][word] | BITBOARDS[PLAYER_TWO][word]) & FULL_MASK[word];
+        }
+
+        return (word << 6) + Long.numberOfTrailingZeros(free);
+    }
+
+    /**
+     * Checks if the side that owns a cell has linked enough cells through it to win the game.
+     * A win can only pass through the last cell played, so only the lines through it are checked
+     * @param cell The index of the cell that was last played on
+     * @return true if the owner of the cell has won the game
+     */
+    public boolean isWinningMove(int cell) {
+        int side = getOwner(cell);
+        return side != NOBODY && WIN_LINES.findWinningLine(this, cell, side) != -1;
+    }
+
+    /**
+     * Checks if playing on a free cell would win the game for a side, without playing the move
+     * @param cell The index of a free cell
+     * @param side The side to check
+     * @return true if the move would win the game
+     */
+    public boolean isWinningCell(int cell, int side) {
+
+        long bit = 1L << cell;
+
+        BITBOARDS[side][cell >>> 6] |= bit;
+        boolean wins = WIN_LINES.findWinningLine(this, cell, side) != -1;
+        BITBOARDS[side][cell >>> 6] &= ~bit;
+
+        return wins;
+    }
+
+    /**
+     * Gets the cells of the winning line that passes through a cell
+     * @param cell The index of the cell that was last played on
+     * @return the indexes of the linked cells, or null if the move did not win the game
+     */
+    public int[] getWinningCells(int cell) {
+
+        int side = getOwner(cell);
+        int line = side == NOBODY ? -1 : WIN_LINES.findWinningLine(this, cell, side);
+
+        if (line == -1)
+            return null;
+
+        int[] cells = new int[AMOUNT_NEEDED_TO_WIN];
+
+        for (int i = 0; i < cells.length; i++)
+            cells[i] = WIN_LINES.getCell(line, i);
+
+        return cells;
+    }
+}
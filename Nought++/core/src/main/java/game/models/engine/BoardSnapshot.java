@@ -0,0 +1,126 @@
+package game.models.engine;
+
+/**
+ * An immutable copy of a Board. Snapshots can be handed to other threads and read without any locking,
+ * the searches make their own mutable copy with toBoard or copyInto
+ */
+public final class BoardSnapshot {
+
+    private final Board BOARD; //A private copy that is never modified
+
+    /**
+     *
+     * @param board The board to take a snapshot of
+     */
+    public BoardSnapshot(Board board) {
+        this.BOARD = new Board(board);
+    }
+
+    /**
+     *
+     * @return Board dimension
+     */
+    public int getDimension() {
+        return BOARD.getDimension();
+    }
+
+    /**
+     *
+     * @return Amount needed to win a game
+     */
+    public int getAmountNeededToWin() {
+        return BOARD.getAmountNeededToWin();
+    }
+
+    /**
+     *
+     * @return The total amount of cells on the board
+     */
+    public int getCellCount() {
+        return BOARD.getCellCount();
+    }
+
+    /**
+     *
+     * @return the amount of cells that have been played on
+     */
+    public int getMoveCount() {
+        return BOARD.getMoveCount();
+    }
+
+    /**
+     *
+     * @return true if no cell has been played on
+     */
+    public boolean isEmpty() {
+        return BOARD.isEmpty();
+    }
+
+    /**
+     *
+     * @return true if every cell has been played on
+     */
+    public boolean isFull() {
+        return BOARD.isFull();
+    }
+
+    /**
+     * Gets the side that owns a cell
+     * @param cell The index of the cell
+     * @return Board.PLAYER_ONE, Board.PLAYER_TWO or Board.NOBODY if the cell has not been played on
+     */
+    public int getOwner(int cell) {
+        return BOARD.getOwner(cell);
+    }
+
+    /**
+     *
+     * @return the zobrist hash of the board
+     */
+    public long getHash() {
+        return BOARD.getHash();
+    }
+
+    /**
+     *
+     * @param cell The index of the cell
+     * @return the column of the cell
+     */
+    public int column(int cell) {
+        return BOARD.column(cell);
+    }
+
+    /**
+     *
+     * @param cell The index of the cell
+     * @return the row of the cell
+     */
+    public int row(int cell) {
+        return BOARD.row(cell);
+    }
+
+    /**
+     *
+     * @return a new mutable board with the same position
+     */
+    public Board toBoard() {
+        return new Board(BOARD);
+    }
+
+    /**
+     * Copies the position into a scratch board, only allocating if the scratch board is missing or a different size
+     * @param scratch The board to reuse, may be null
+     * @return a mutable board with the same position
+     */
+    public Board toBoard(Board scratch) {
+        return Board.copyOf(BOARD, scratch);
+    }
+
+    /**
+     * Copies the position into an existing board without allocating
+     * @param target The board to copy into, it must have the same dimension and amount needed to win
+     */
+    public void copyInto(Board target) {
+        target.copyFrom(BOARD);
+    }
+}
@@ -0,0 +1,148 @@
+package game.models.engine;
+
+import java.util.Arrays;
+
+/**
+ * The cells worth trying on a large board, every free cell within a radius of a played cell.
+ * A move far from every stone can't make or block a line, so searches only look at these.
+ * Each cell counts the stones within the radius, and a bitmask of the cells with a count above zero is kept up to date
+ * as stones are added and removed, so the candidates are never worked out from scratch during a search
+ */
+public class CandidateMoves {
+
+    public static final int DEFAULT_RADIUS = 2; //Two cells covers the gaps a line can be built across
+
+    private final int DIMENSION; //The dimension of the board
+    private final int RADIUS; //How far, including diagonally, a candidate can be from a stone
+    private final int[][] NEIGHBOURS; //The cells within the radius of each cell, not including the cell
+    private final int[] NEAR_COUNTS; //The amount of stones within the radius of each cell
+    private final long[] NEAR_MASK; //A bit for every cell with a stone within its radius
+
+    private int stoneCount; //The amount of stones on the board
+
+    /**
+     *
+     * @param dimension The dimension of the board
+     * @param radius How far, including diagonally, a candidate can be from a stone
+     */
+    public CandidateMoves(int dimension, int radius) {
+
+        int cellCount = dimension * dimension;
+
+        this.DIMENSION = dimension;
+        this.RADIUS = radius;
+        this.NEIGHBOURS = new int[cellCount][];
+        this.NEAR_COUNTS = new int[cellCount];
+        this.NEAR_MASK = new long[(cellCount + 63) >>> 6];
+
+        int[] buffer = new int[(2 * radius + 1) * (2 * radius + 1)];
+
+        for (int cell = 0; cell < cellCount; cell++) {
+
+            int col = cell % dimension, row = cell / dimension;
+            int count = 0;
+
+            for (int r = Math.max(0, row - radius); r <= Math.min(dimension - 1, row + radius); r++)
+                for (int c = Math.max(0, col - radius); c <= Math.min(dimension - 1, col + radius); c++)
+                    if (r != row || c != col)
+                        buffer[count++] = r * dimension + c;
+
+            NEIGHBOURS[cell] = Arrays.copyOf(buffer, count);
+        }
+    }
+
+    /**
+     * Works the candidates out from scratch, it's done once before a search
+     * @param board The board to find the candidates of
+     */
+    public void reset(Board board) {
+
+        Arrays.fill(NEAR_COUNTS, 0);
+        Arrays.fill(NEAR_MASK, 0);
+        stoneCount = 0;
+
+        for (int cell = 0; cell < NEAR_COUNTS.length; cell++)
+            if (!board.isFree(cell))
+                add(cell);
+    }
+
+    /**
+     * Records a stone that has been played
+     * @param cell The index of the cell played on
+     */
+    public void add(int cell) {
+
+        stoneCount++;
+
+        for (int neighbour : NEIGHBOURS[cell])
+            if (NEAR_COUNTS[neighbour]++ == 0)
+                NEAR_MASK[neighbour >>> 6] |= 1L << neighbour;
+    }
+
+    /**
+     * Records a stone that has been taken back
+     * @param cell The index of the cell that was freed
+     */
+    public void remove(int cell) {
+
+        stoneCount--;
+
+        for (int neighbour : NEIGHBOURS[cell])
+            if (--NEAR_COUNTS[neighbour] == 0)
+                NEAR_MASK[neighbour >>> 6] &= ~(1L << neighbour);
+    }
+
+    /**
+     * Finds the next candidate, the cells of a board without stones are all candidates
+     * @param board The board the stones were played on
+     * @param from The index of the cell to start looking from
+     * @return the index of the first candidate at or after from, or -1 if there are no more
+     */
+    public int nextCandidate(Board board, int from) {
+
+        if (stoneCount == 0)
+            return board.nextFreeCell(from);
+
+        long[] playerOne = board.getBitboard(Board.PLAYER_ONE);
+        long[] playerTwo = board.getBitboard(Board.PLAYER_TWO);
+
+        for (int word = from >>> 6; word < NEAR_MASK.length; word++) {
+
+            long free = NEAR_MASK[word] & ~(playerOne[word] | playerTwo[word]);
+
+            //Clears the cells before from in its own word
+            if (word == from >>> 6)
+                free &= -1L << from;
+
+            if (free != 0)
+                return (word << 6) + Long.numberOfTrailingZeros(free);
+        }
+
+        return -1;
+    }
+
+    /**
+     *
+     * @param cell The index of the cell
+     * @return true if the cell is within the radius of a stone
+     */
+    public boolean isNearStone(int cell) {
+        return (NEAR_MASK[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    /**
+     *
+     * @return the dimension of the board
+     */
+    public int getDimension() {
+        return DIMENSION;
+    }
+
+    /**
+     *
+     * @return how far, including diagonally, a candidate can be from a stone
+     */
+    public int getRadius() {
+        return RADIUS;
+    }
+}
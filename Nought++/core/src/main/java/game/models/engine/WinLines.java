@@ -0,0 +1,238 @@
+package game.models.engine;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A precomputed table of every line of cells that wins the game for a board dimension and win length.
+ * Each line is a run of AMOUNT_NEEDED_TO_WIN cells horizontally, vertically or diagonally, and is stored
+ * both as its cell indexes and as bit masks so that a line can be checked against a bitboard
+ * with (bitboard & mask) == mask.
+ * Tables are immutable and shared, there is only ever one per (dimension, win length) in the JVM
+ */
+public class WinLines {
+
+    //Every table that has been built, keyed by dimension and win length
+    private static final Map<Long, WinLines> CACHE = new ConcurrentHashMap<>();
+
+    private final int DIMENSION; //The dimension of the board the lines are for
+    private final int AMOUNT_NEEDED_TO_WIN; //The amount of cells in each line
+    private final int LINE_COUNT; //The amount of winning lines on the board
+
+    private final int[] LINE_CELLS; //The cells of every line, line l occupies [l * AMOUNT_NEEDED_TO_WIN, (l + 1) * AMOUNT_NEEDED_TO_WIN)
+    private final int[] MASK_OFFSETS; //Where the masks of each line start in MASK_WORDS and MASK_BITS, with one extra entry at the end
+    private final int[] MASK_WORDS; //The bitboard word each mask applies to
+    private final long[] MASK_BITS; //The bits of the line that fall in the matching word
+
+    private final int[] CELL_LINE_OFFSETS; //Where the lines through each cell start in CELL_LINES, with one extra entry at the end
+    private final int[] CELL_LINES; //The lines that pass through each cell
+
+    /**
+     * Gets the shared table of winning lines, building it the first time it's asked for
+     * @param dimension The dimension of the board
+     * @param amountToWin The amount of cells that have to be linked to win
+     * @return the winning lines for the board
+     */
+    public static WinLines forBoard(int dimension, int amountToWin) {
+        long key = ((long) dimension << 32) | (amountToWin & 0xFFFFFFFFL);
+        return CACHE.computeIfAbsent(key, k -> new WinLines(dimension, amountToWin));
+    }
+
+    /**
+     *
+     * @param dimension The dimension of the board
+     * @param amountToWin The amount of cells that have to be linked to win
+     */
+    private WinLines(int dimension, int amountToWin) {
+
+        this.DIMENSION = dimension;
+        this.AMOUNT_NEEDED_TO_WIN = amountToWin;
+
+        //The column and row steps of each direction: horizontal, vertical, diagonally down and diagonally up
+        int[][] directions = new int[][] {{1, 0}, {0, 1}, {1, 1}, {1, -1}};
+
+        int runs = Math.max(dimension - amountToWin + 1, 0);
+        int lineCount = amountToWin <= 0 ? 0 : runs * dimension * 2 + runs * runs * 2;
+
+        this.LINE_COUNT = lineCount;
+        this.LINE_CELLS = new int[lineCount * Math.max(amountToWin, 0)];
+        this.MASK_OFFSETS = new int[lineCount + 1];
+
+        //A line can never touch more words than it has cells
+        int[] maskWords = new int[LINE_CELLS.length];
+        long[] maskBits = new long[LINE_CELLS.length];
+        int line = 0, maskCount = 0;
+
+        for (int[] direction : directions) {
+            for (int row = 0; row < dimension; row++) {
+                for (int col = 0; col < dimension; col++) {
+
+                    //Only lines that end on the board are winning lines
+                    int endCol = col + direction[0] * (amountToWin - 1);
+                    int endRow = row + direction[1] * (amountToWin - 1);
+
+                    if (amountToWin <= 0 || endCol < 0 || endCol >= dimension || endRow < 0 || endRow >= dimension)
+                        continue;
+
+                    MASK_OFFSETS[line] = maskCount;
+
+                    for (int i = 0; i < amountToWin; i++) {
+                        int cell = (row + direction[1] * i) * dimension + col + direction[0] * i;
+                        int word = cell >>> 6;
+
+                        LINE_CELLS[line * amountToWin + i] = cell;
+
+                        //Cells are walked in increasing or decreasing order so a new word always follows on from the last
+                        if (maskCount == MASK_OFFSETS[line] || maskWords[maskCount - 1] != word) {
+                            maskWords[maskCount] = word;
+                            maskCount++;
+                        }
+
+                        maskBits[maskCount - 1] |= 1L << cell;
+                    }
+
+                    line++;
+                }
+            }
+        }
+
+        MASK_OFFSETS[lineCount] = maskCount;
+
+        this.MASK_WORDS = new int[maskCount];
+        this.MASK_BITS = new long[maskCount];
+
+        System.arraycopy(maskWords, 0, MASK_WORDS, 0, maskCount);
+        System.arraycopy(maskBits, 0, MASK_BITS, 0, maskCount);
+
+        //Indexes which lines pass through each cell, first by counting them and then by filling them in
+        int cellCount = dimension * dimension;
+
+        this.CELL_LINE_OFFSETS = new int[cellCount + 1];
+        this.CELL_LINES = new int[LINE_CELLS.length];
+
+        for (int cell : LINE_CELLS)
+            CELL_LINE_OFFSETS[cell + 1]++;
+
+        for (int cell = 0; cell < cellCount; cell++)
+            CELL_LINE_OFFSETS[cell + 1] += CELL_LINE_OFFSETS[cell];
+
+        int[] filled = new int[cellCount];
+
+        for (int i = 0; i < LINE_CELLS.length; i++) {
+            int cell = LINE_CELLS[i];
+            CELL_LINES[CELL_LINE_OFFSETS[cell] + filled[cell]++] = i / amountToWin;
+        }
+    }
+
+    /**
+     *
+     * @return the dimension of the board the lines are for
+     */
+    public int getDimension() {
+        return DIMENSION;
+    }
+
+    /**
+     *
+     * @return the amount of cells in each line
+     */
+    public int getAmountNeededToWin() {
+        return AMOUNT_NEEDED_TO_WIN;
+    }
+
+    /**
+     *
+     * @return the amount of winning lines on the board
+     */
+    public int getLineCount() {
+        return LINE_COUNT;
+    }
+
+    /**
+     *
+     * @param line The index of the line
+     * @param i The position of the cell in the line, from 0 to AMOUNT_NEEDED_TO_WIN - 1
+     * @return the index of the cell
+     */
+    public int getCell(int line, int i) {
+        return LINE_CELLS[line * AMOUNT_NEEDED_TO_WIN + i];
+    }
+
+    /**
+     * Gets where the lines through a cell start, lines are read with getCellLine
+     * e.g. for (int i = lines.getCellLinesStart(c); i < lines.getCellLinesEnd(c); i++)
+     * @param cell The index of the cell
+     * @return the position of the first line through the cell
+     */
+    public int getCellLinesStart(int cell) {
+        return CELL_LINE_OFFSETS[cell];
+    }
+
+    /**
+     *
+     * @param cell The index of the cell
+     * @return the position after the last line through the cell
+     */
+    public int getCellLinesEnd(int cell) {
+        return CELL_LINE_OFFSETS[cell + 1];
+    }
+
+    /**
+     *
+     * @param i A position between getCellLinesStart and getCellLinesEnd of a cell
+     * @return the index of the line
+     */
+    public int getCellLine(int i) {
+        return CELL_LINES[i];
+    }
+
+    /**
+     * Checks if every cell in a line is set in a bitboard
+     * @param bitboard The bitboard to check
+     * @param line The index of the line
+     * @return true if the bitboard covers the whole line
+     */
+    public boolean isLineSet(long[] bitboard, int line) {
+
+        for (int m = MASK_OFFSETS[line]; m < MASK_OFFSETS[line + 1]; m++)
+            if ((bitboard[MASK_WORDS[m]] & MASK_BITS[m]) != MASK_BITS[m])
+                return false;
+
+        return true;
+    }
+
+    /**
+     * Finds a line that a side has completed on a board
+     * @param board The board to check
+     * @param side The side to check
+     * @return the index of the completed line, or -1 if the side hasn't completed one
+     */
+    public int findWinningLine(Board board, int side) {
+
+        long[] bitboard = board.getBitboard(side);
+
+        for (int line = 0; line < LINE_COUNT; line++)
+            if (isLineSet(bitboard, line))
+                return line;
+
+        return -1;
+    }
+
+    /**
+     * Finds a line through a cell that a side has completed. Only the lines through the cell are checked
+     * @param board The board to check
+     * @param cell The index of the cell that was last played on
+     * @param side The side to check
+     * @return the index of the completed line, or -1 if the side hasn't completed one through the cell
+     */
+    public int findWinningLine(Board board, int cell, int side) {
+
+        long[] bitboard = board.getBitboard(side);
+
+        for (int i = CELL_LINE_OFFSETS[cell]; i < CELL_LINE_OFFSETS[cell + 1]; i++)
+            if (isLineSet(bitboard, CELL_LINES[i]))
+                return CELL_LINES[i];
+
+        return -1;
+    }
+}
@@ -0,0 +1,129 @@
+package game.models.engine;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The random keys used to hash a board, along with the 8 symmetries of a square board (4 rotations, each
+ * optionally mirrored). A Board keeps one hash per symmetry so that rotated and reflected positions can share
+ * a single canonical hash. Keys are immutable and shared, there is only ever one set per dimension in the JVM
+ */
+public class ZobristKeys {
+
+    public static final int SYMMETRY_COUNT = 8; //The amount of ways a square board can be rotated and reflected
+    public static final int IDENTITY = 0; //The symmetry that leaves every cell where it is
+
+    //Every set of keys that has been built, keyed by dimension
+    private static final Map<Integer, ZobristKeys> CACHE = new ConcurrentHashMap<>();
+
+    private final int DIMENSION; //The dimension of the board the keys are for
+    private final long[][] CELL_KEYS; //The key of each side on each cell, CELL_KEYS[side][cell]
+    private final long SIDE_KEY; //Mixed into a hash when player two is to move
+    private final int[][] TRANSFORMS; //Where each symmetry moves each cell, TRANSFORMS[symmetry][cell]
+    private final int[][] INVERSES; //Undoes each symmetry, INVERSES[symmetry][TRANSFORMS[symmetry][cell]] == cell
+
+    /**
+     * Gets the shared keys for a board dimension, building them the first time they're asked for
+     * @param dimension The dimension of the board
+     * @return the keys for the board
+     */
+    public static ZobristKeys forDimension(int dimension) {
+        return CACHE.computeIfAbsent(dimension, ZobristKeys::new);
+    }
+
+    /**
+     *
+     * @param dimension The dimension of the board
+     */
+    private ZobristKeys(int dimension) {
+
+        this.DIMENSION = dimension;
+
+        int cellCount = dimension * dimension;
+
+        //A fixed seed keeps hashes the same between runs
+        Random random = new Random(0x5EED_0000L + dimension);
+
+        this.CELL_KEYS = new long[2][cellCount];
+        this.TRANSFORMS = new int[SYMMETRY_COUNT][cellCount];
+        this.INVERSES = new int[SYMMETRY_COUNT][cellCount];
+
+        for (int side = Board.PLAYER_ONE; side <= Board.PLAYER_TWO; side++)
+            for (int cell = 0; cell < cellCount; cell++)
+                CELL_KEYS[side][cell] = random.nextLong();
+
+        this.SIDE_KEY = random.nextLong();
+
+        int last = dimension - 1;
+
+        for (int symmetry = 0; symmetry < SYMMETRY_COUNT; symmetry++) {
+            for (int cell = 0; cell < cellCount; cell++) {
+
+                int col = cell % dimension, row = cell / dimension;
+
+                //Symmetries 4 - 7 mirror the board before rotating it
+                if (symmetry >= 4)
+                    col = last - col;
+
+                //Rotates the cell a quarter turn clockwise once for every step
+                for (int turn = 0; turn < symmetry % 4; turn++) {
+                    int temp = col;
+                    col = last - row;
+                    row = temp;
+                }
+
+                int transformed = row * dimension + col;
+
+                TRANSFORMS[symmetry][cell] = transformed;
+                INVERSES[symmetry][transformed] = cell;
+            }
+        }
+    }
+
+    /**
+     *
+     * @return the dimension of the board the keys are for
+     */
+    public int getDimension() {
+        return DIMENSION;
+    }
+
+    /**
+     *
+     * @param side The side that owns the cell
+     * @param cell The index of the cell
+     * @return the key of the side on the cell
+     */
+    public long getKey(int side, int cell) {
+        return CELL_KEYS[side][cell];
+    }
+
+    /**
+     *
+     * @return the key that is mixed into a hash when player two is to move
+     */
+    public long getSideKey() {
+        return SIDE_KEY;
+    }
+
+    /**
+     *
+     * @param symmetry The index of the symmetry, from 0 to SYMMETRY_COUNT - 1
+     * @param cell The index of the cell
+     * @return the index of the cell once the symmetry has been applied
+     */
+    public int transform(int symmetry, int cell) {
+        return TRANSFORMS[symmetry][cell];
+    }
+
+    /**
+     *
+     * @param symmetry The index of the symmetry, from 0 to SYMMETRY_COUNT - 1
+     * @param cell The index of a transformed cell
+     * @return the index of the cell before the symmetry was applied
+     */
+    public int inverse(int symmetry, int cell) {
+        return INVERSES[symmetry][cell];
+    }
+}
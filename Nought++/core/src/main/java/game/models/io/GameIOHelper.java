@@ -0,0 +1,354 @@
+package game.models.io;
+
+import game.models.logic.Player;
+import game.models.model.RecentScore;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class GameIOHelper {
+
+    public static final String APPLICATION_NAME = "NoughtPlusPlus";
+    public static final String SCORE_LOG_FILE = "RecentScores.log"; //The binary score log, see ScoreLog
+    public static final String LEGACY_SCORES_FILE = "RecentScores.npp"; //The comma separated file older versions saved to
+
+    private static Path workingDirectory; //Overrides where the game data is kept, null to use the user's folder
+
+    private static ScoreWriter scoreWriter; //Saves scores in the background, created by the first save
+    private static ScoreWriter.SyncPolicy syncPolicy = ScoreWriter.SyncPolicy.EVERY_BATCH; //When saved scores reach the disk
+    private static long syncIntervalMillis; //How often scores are synced with SyncPolicy.INTERVAL
+    private static boolean shutdownHookAdded; //Whether the hook that saves queued scores on exit has been added
+    private static volatile ScoreWriter.FailureListener saveFailureListener; //Told when saved scores are lost
+
+    //Guards creating the folder and moving the old scores, the writer thread and loads can both do it
+    private static final Object SAVE_PATH_LOCK = new Object();
+
+    /**
+     * Moves the game data to another folder, benchmarks use it so they don't touch the player's scores.
+     * Scores still waiting to be saved are saved to the old folder first
+     * @param directory The folder to keep the game data in, null to go back to the user's folder
+     */
+    public static synchronized void setWorkingDirectory(Path directory) {
+        closeScoreWriter();
+        workingDirectory = directory;
+    }
+
+    /**
+     * Sets when saved scores are synced to the disk, headless simulations that save lots of games can sync less often.
+     * Scores still waiting to be saved are saved with the old policy first
+     * @param policy When the score log is synced
+     * @param intervalMillis How often the log is synced with SyncPolicy.INTERVAL
+     */
+    public static synchronized void setSyncPolicy(ScoreWriter.SyncPolicy policy, long intervalMillis) {
+        closeScoreWriter();
+        syncPolicy = policy;
+        syncIntervalMillis = intervalMillis;
+    }
+
+    /**
+     * Sets who is told when saved scores couldn't be written, the game shows the player an alert.
+     * It's called on the score writer thread
+     * @param listener The listener, null to print the error instead
+     */
+    public static void setSaveFailureListener(ScoreWriter.FailureListener listener) {
+        saveFailureListener = listener;
+    }
+
+    /**
+     * Gets the working directory of which to the caller
+     * @return The path to the folder to save the file on
+     */
+    private static Path getWorkingDirectory() {
+
+        if (workingDirectory != null)
+            return workingDirectory;
+
+        String osName = System.getProperty("os.name").toLowerCase();
+        String userHome = System.getProperty("user.home");
+
+        if (osName.contains("linux") || osName.contains("unix"))
+            return new File(userHome, APPLICATION_NAME + "/").toPath();
+
+        if (osName.contains("mac"))
+            return new File(userHome, "Library/Application Support/" + APPLICATION_NAME).toPath();
+
+        if (osName.contains("win")) {
+            String applicationData = System.getenv("AppData");
+            String folder = applicationData != null ? applicationData : userHome;
+
+            return new File(folder, APPLICATION_NAME + "/").toPath();
+        }
+
+        return new File(userHome, APPLICATION_NAME + "/").toPath();
+    }
+
+    /**
+     * Gets the full path of where the scores are saved. Scores saved by older versions of the game are moved
+     * into the score log the first time it's asked for
+     * @param fullDirectory The folder the game data is kept in
+     * @return The full path of where the file is to be saved
+     * @throws IOException if the folder can't be created or the old scores can't be moved, the caller reports it to the user
+     */
+    private static Path getSavePath(Path fullDirectory) throws IOException {
+
+        Path fullPath = fullDirectory.resolve(SCORE_LOG_FILE);
+
+        synchronized (SAVE_PATH_LOCK) {
+
+            if (Files.notExists(fullDirectory))
+                Files.createDirectory(fullDirectory);
+
+            if (Files.notExists(fullPath))
+                migrateLegacyScores(fullDirectory.resolve(LEGACY_SCORES_FILE), fullPath);
+        }
+
+        return fullPath;
+    }
+
+    /**
+     * Copies the scores of the old comma separated file into a new score log. The log is written next to where it
+     * belongs and moved into place once complete, so a crash part way through leaves the old file to migrate again.
+     * The old file is renamed afterwards rather than deleted
+     * @param legacyPath The path of the comma separated file
+     * @param logPath The path of the score log to create
+     * @throws IOException if the scores can't be moved
+     */
+    private static void migrateLegacyScores(Path legacyPath, Path logPath) throws IOException {
+
+        if (Files.notExists(legacyPath))
+            return;
+
+        Path tempPath = logPath.resolveSibling(logPath.getFileName() + ".tmp");
+
+        Files.deleteIfExists(tempPath);
+
+        try (ScoreLog log = ScoreLog.open(tempPath)) {
+
+            for (RecentScore score : loadLegacyScores(legacyPath))
+                log.append(score);
+
+            log.flush();
+        }
+
+        Files.move(tempPath, logPath, StandardCopyOption.ATOMIC_MOVE);
+        Files.move(legacyPath, legacyPath.resolveSibling(LEGACY_SCORES_FILE + ".migrated"),
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Loads game save data
+     * @return A list of recent score objects from the file store, oldest first
+     * @throws IOException
+     */
+    public static List<RecentScore> loadRecentScores() throws IOException {
+
+        flushScoreWriter();
+
+        Path path = getSavePath(getWorkingDirectory());
+
+        if (Files.notExists(path))
+            return new ArrayList<>();
+
+        return ScoreLogReader.open(path).readAll();
+    }
+
+    /**
+     * Opens the saved scores to be read a page at a time, newest first, rather than loading them all at once
+     * @return the pager
+     * @throws IOException if the scores can't be read
+     */
+    public static ScorePager openRecentScores() throws IOException {
+
+        flushScoreWriter();
+
+        Path path = getSavePath(getWorkingDirectory());
+
+        return new ScorePager(Files.exists(path) ? ScoreLogReader.open(path) : null);
+    }
+
+    /**
+     * Indexes the saved scores so they can be sorted and filtered. Only when and where each score was saved is kept
+     * in memory, the scores are read from the file a page at a time
+     * @return the store, later scores aren't added to it
+     * @throws IOException if the scores can't be read
+     */
+    public static ScoreStore loadScoreStore() throws IOException {
+
+        flushScoreWriter();
+
+        Path path = getSavePath(getWorkingDirectory());
+
+        return new ScoreStore(Files.exists(path) ? ScoreLogReader.open(path) : null);
+    }
+
+    /**
+     * Reads the comma separated file scores were saved to before the score log
+     * @param path The path of the file
+     * @return the scores in the file, lines that can't be read are skipped
+     * @throws IOException if the file can't be read
+     */
+    private static List<RecentScore> loadLegacyScores(Path path) throws IOException {
+
+        List<String> lines = Files.readAllLines(path);
+        List<RecentScore> recentScoreList = new ArrayList<>();
+
+        for (String line : lines) {
+
+            Player p1, p2;
+            int gridSize;
+
+            try {
+
+                //Example data
+                //Ben,0,Computer,1,3,2015/06/28 23:27:48
+
+                String[] dataChunks = line.split(",");
+
+                if (dataChunks.length != 6)
+                    continue;
+
+                p1 = new Player(dataChunks[0], null);
+                p1.setScore(Integer.valueOf(dataChunks[1]));
+
+                p2 = new Player(dataChunks[2], null);
+                p2.setScore(Integer.valueOf(dataChunks[3]));
+
+                gridSize = Integer.valueOf(dataChunks[4]);
+
+                recentScoreList.add(new RecentScore(p1, p2, gridSize, dataChunks[5]));
+
+            } catch (NumberFormatException | ParseException e) {
+                continue;
+            }
+        }
+
+        return recentScoreList;
+    }
+
+    /**
+     * Saves a new recent score to a file. The score is written in the background, so this returns straight away
+     * unless lots of scores are already waiting to be written. Scores that can't be written are reported to the
+     * listener set with setSaveFailureListener
+     * @param rs The recent score to append to file store
+     */
+    public static void saveGameScores(RecentScore rs) {
+
+        while (true) {
+            try {
+                getScoreWriter().save(rs);
+                return;
+            } catch (IllegalStateException e) {
+                //The writer was closed in between, the next one saves the score
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets the writer that saves scores, the first time it's asked for the writer is created and a hook is added
+     * that saves any scores still waiting when the application exits. The folder is only created, and old scores
+     * moved, once the writer thread writes its first batch
+     * @return the writer
+     */
+    private static synchronized ScoreWriter getScoreWriter() {
+
+        if (scoreWriter == null) {
+
+            Path directory = getWorkingDirectory();
+
+            scoreWriter = new ScoreWriter(() -> ScoreLog.open(getSavePath(directory)),
+                    syncPolicy, syncIntervalMillis, ScoreWriter.DEFAULT_CAPACITY);
+            scoreWriter.setFailureListener(GameIOHelper::saveFailed);
+        }
+
+        if (!shutdownHookAdded) {
+            Runtime.getRuntime().addShutdownHook(new Thread(GameIOHelper::closeScoreWriter, "Score writer shutdown"));
+            shutdownHookAdded = true;
+        }
+
+        return scoreWriter;
+    }
+
+    /**
+     * Passes on a failed save to the listener
+     * @param error Why the scores couldn't be saved
+     * @param lostCount The amount of scores that weren't saved
+     */
+    private static void saveFailed(Exception error, int lostCount) {
+
+        ScoreWriter.FailureListener listener = saveFailureListener;
+
+        if (listener == null)
+            error.printStackTrace();
+        else
+            listener.saveFailed(error, lostCount);
+    }
+
+    /**
+     * Waits until every score saved so far has been written to the score log. The wait happens outside the lock,
+     * so saving a score meanwhile doesn't wait for it
+     */
+    private static void flushScoreWriter() {
+
+        ScoreWriter writer;
+
+        synchronized (GameIOHelper.class) {
+            writer = scoreWriter;
+        }
+
+        if (writer == null)
+            return;
+
+        //A writer closed meanwhile has written everything by the time it's closed, so flush still returns
+        try {
+            writer.flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Saves the scores still waiting to be written and closes the score log, called when the application exits.
+     * Saving another score opens it again
+     */
+    public static synchronized void closeScoreWriter() {
+
+        if (scoreWriter == null)
+            return;
+
+        scoreWriter.close();
+        scoreWriter = null;
+    }
+
+    /**
+     * Deletes all of the saved files and folders associated with the game
+     * @throws IOException
+     */
+    public static synchronized void deleteRecentScores() throws IOException {
+
+        closeScoreWriter();
+
+        Path rootDirectory = Paths.get(getWorkingDirectory() + "/");
+
+        //A load moving the old scores over meanwhile would leave files behind
+        synchronized (SAVE_PATH_LOCK) {
+
+            File[] files = rootDirectory.toFile().listFiles();
+
+            if (files != null)
+                for (File file : files)
+                    Files.delete(file.toPath());
+
+            Files.deleteIfExists(rootDirectory);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,218 @@
+package game.models.io;
+
+import game.models.model.RecentScore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * The recent scores file, a versioned log of binary records that is only ever appended to.
+ * The file starts with MAGIC, VERSION and a reserved short, then each record is laid out as
+ *
+ *   int length | payload | int CRC-32 of the payload | int length
+ *
+ * The length is repeated after the payload so the log can be read from either end. A record cut short by a crash
+ * fails its checksum, so it's dropped when the log is read and overwritten by the next record appended.
+ * A name is only stored once, by a NAME record that gives it the next id, and SCORE records refer to names by id
+ *
+ *   NAME:  byte NAME | int id | UTF-8 name
+ *   SCORE: byte SCORE | long epoch milliseconds | int player 1 id | int player 1 score
+ *          | int player 2 id | int player 2 score | byte grid dimension
+ */
+public class ScoreLog implements Closeable {
+
+    public static final int MAGIC = 0x4E505353; //"NPSS", marks the start of a score log
+    public static final short VERSION = 1; //The version of the record layout
+
+    static final int HEADER_BYTES = 8; //MAGIC, VERSION and a reserved short
+    static final int RECORD_OVERHEAD = 12; //The two lengths and the checksum around each payload
+    static final int MAX_PAYLOAD_BYTES = 1024; //Longer lengths can only come from a damaged file
+
+    static final byte NAME = 1; //Payload type that gives a name its id
+    static final byte SCORE = 2; //Payload type of a recent score
+    static final int SCORE_PAYLOAD_BYTES = 26; //The size of a SCORE payload
+
+    private final FileChannel CHANNEL; //The open log, positioned at its end
+    private final Map<String, Integer> NAME_IDS; //The id of every name stored in the log
+    private final ByteBuffer BUFFER; //Records are put together here before they're written
+    private final CRC32 CHECKSUM; //Reused for every record
+
+    /**
+     *
+     * @param channel The open log, positioned at its end
+     * @param names Every name stored in the log, in id order
+     */
+    private ScoreLog(FileChannel channel, List<String> names) {
+        this.CHANNEL = channel;
+        this.NAME_IDS = new HashMap<>();
+        //Room for a score and the NAME records of two new players
+        this.BUFFER = ByteBuffer.allocate(2 * (MAX_PAYLOAD_BYTES + RECORD_OVERHEAD) + SCORE_PAYLOAD_BYTES + RECORD_OVERHEAD);
+        this.CHECKSUM = new CRC32();
+
+        for (int id = 0; id < names.size(); id++)
+            NAME_IDS.put(names.get(id), id);
+    }
+
+    /**
+     * Opens a log to append to, creating it if it doesn't exist. A damaged record at the end of the log,
+     * left by a crash part way through a write, is cut off so the next record replaces it
+     * @param path The path of the log
+     * @return the open log, close it once done
+     * @throws IOException if the log can't be opened, or isn't a score log this version can read
+     */
+    public static ScoreLog open(Path path) throws IOException {
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+
+        try {
+
+            List<String> names;
+
+            if (channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                header.putInt(MAGIC).putShort(VERSION).putShort((short) 0).flip();
+
+                while (header.hasRemaining())
+                    channel.write(header);
+
+                names = new ArrayList<>();
+
+            } else {
+                //Streamed rather than mapped, as the damaged end is cut off below, which a mapping would stop on Windows
+                ScoreLogScanner scanner = new ScoreLogScanner(channel);
+
+                names = scanner.getNames();
+                channel.truncate(scanner.getEnd());
+            }
+
+            channel.position(channel.size());
+
+            return new ScoreLog(channel, names);
+
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Adds a score to the end of the log. Call flush to make sure it has reached the disk
+     * @param score The score to add
+     * @throws IOException if the log can't be written to
+     */
+    public void append(RecentScore score) throws IOException {
+
+        int nameCount = NAME_IDS.size();
+        long end = CHANNEL.position();
+
+        try {
+
+            BUFFER.clear();
+
+            int player1 = getNameId(score.getPlayer1().getName());
+            int player2 = getNameId(score.getPlayer2().getName());
+
+            int start = beginRecord(SCORE_PAYLOAD_BYTES);
+
+            BUFFER.put(SCORE)
+                    .putLong(score.getTimestamp())
+                    .putInt(player1)
+                    .putInt(score.getPlayer1().getScore())
+                    .putInt(player2)
+                    .putInt(score.getPlayer2().getScore())
+                    .put((byte) score.getAbsDimension());
+
+            endRecord(start);
+
+            BUFFER.flip();
+
+            while (BUFFER.hasRemaining())
+                CHANNEL.write(BUFFER);
+
+        } catch (IOException | RuntimeException e) {
+
+            //A half written record would hide every record after it, so the log is put back as it was
+            NAME_IDS.values().removeIf(id -> id >= nameCount);
+            CHANNEL.truncate(end);
+
+            throw e;
+        }
+    }
+
+    /**
+     * Makes sure every appended score has been written to the disk
+     * @throws IOException if the log can't be written to
+     */
+    public void flush() throws IOException {
+        CHANNEL.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        CHANNEL.close();
+    }
+
+    /**
+     * Gets the id of a name, putting a NAME record in the buffer the first time the name is stored
+     * @param name The name
+     * @return the id of the name
+     */
+    private int getNameId(String name) {
+
+        Integer id = NAME_IDS.get(name);
+
+        if (id != null)
+            return id;
+
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+
+        if (bytes.length > MAX_PAYLOAD_BYTES - 5)
+            throw new IllegalArgumentException("Player name is too long to save: " + name);
+
+        id = NAME_IDS.size();
+        NAME_IDS.put(name, id);
+
+        int start = beginRecord(5 + bytes.length);
+
+        BUFFER.put(NAME).putInt(id).put(bytes);
+
+        endRecord(start);
+
+        return id;
+    }
+
+    /**
+     * Puts the leading length of a record in the buffer
+     * @param payloadLength The length of the payload that follows
+     * @return the position of the payload in the buffer
+     */
+    private int beginRecord(int payloadLength) {
+        BUFFER.putInt(payloadLength);
+        return BUFFER.position();
+    }
+
+    /**
+     * Puts the checksum and trailing length after a payload
+     * @param start The position of the payload in the buffer
+     */
+    private void endRecord(int start) {
+
+        int length = BUFFER.position() - start;
+
+        CHECKSUM.reset();
+        CHECKSUM.update(BUFFER.array(), start, length);
+
+        BUFFER.putInt((int) CHECKSUM.getValue()).putInt(length);
+    }
+}
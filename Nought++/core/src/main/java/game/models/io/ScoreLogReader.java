@@ -0,0 +1,419 @@
+package game.models.io;
+
+import game.models.logic.Player;
+import game.models.model.RecentScore;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static game.models.io.ScoreLog.*;
+
+/**
+ * Reads a ScoreLog from the start or, a page at a time, from the end. Large logs are memory mapped so reading them
+ * doesn't copy the file onto the heap, small ones are read in one go as a mapping holds on to the file until it's
+ * garbage collected, which stops it being deleted on Windows.
+ * Opening only checks the last record, the whole log is only checked if that record was damaged by a crash, so
+ * opening takes the same time however long the log is. Every record is checked as it's read and reading stops
+ * at the first damaged one. Names are looked up from the start of the log as far as the ids asked for,
+ * each name is decoded once and shared by every score it appears in. A reader can only be used by one thread at a time
+ */
+public class ScoreLogReader {
+
+    public static final int MAP_THRESHOLD = 1 << 20; //Logs of at least this many bytes are memory mapped
+
+    /**
+     * Told about each score as the log is indexed, without the score being created
+     */
+    interface ScoreVisitor {
+        /**
+         *
+         * @param position The position of the score's record, readScoreAt reads it back from there
+         * @param timestamp When the score was saved, in milliseconds since the epoch
+         * @param player1 The name of the first player
+         * @param player2 The name of the second player
+         * @param dimension The grid dimension the game was played on
+         */
+        void visit(int position, long timestamp, String player1, String player2, int dimension);
+    }
+
+    private final ByteBuffer BUFFER; //The whole log, mapped or read into memory
+    private final ByteBuffer VIEW; //Copies payloads out of BUFFER to checksum them
+    private final byte[] PAYLOAD; //The payload of the last record checked
+    private final CRC32 CHECKSUM; //Reused for every record
+    private final List<String> NAMES; //The names found so far, indexed by id
+
+    private final int VALID_LENGTH; //The length of the log up to its first damaged record
+    private int nameScanPosition; //Where the search for names further on in the log carries on from
+
+    /**
+     * Opens a log
+     * @param path The path of the log
+     * @return the reader
+     * @throws IOException if the log can't be read, or isn't a score log this version can read
+     */
+    public static ScoreLogReader open(Path path) throws IOException {
+
+        //A mapping stays valid once the channel is closed
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new ScoreLogReader(channel);
+        }
+    }
+
+    /**
+     *
+     * @param channel The open log
+     * @throws IOException if the log can't be read, or isn't a score log this version can read
+     */
+    ScoreLogReader(FileChannel channel) throws IOException {
+
+        long size = channel.size();
+
+        if (size > Integer.MAX_VALUE)
+            throw new IOException("The score log is too large to read");
+
+        if (size >= MAP_THRESHOLD) {
+            BUFFER = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } else {
+            BUFFER = ByteBuffer.allocate((int) size);
+
+            while (BUFFER.hasRemaining())
+                if (channel.read(BUFFER, BUFFER.position()) < 0)
+                    break;
+
+            BUFFER.flip();
+        }
+
+        checkHeader(BUFFER, BUFFER.limit());
+
+        VIEW = BUFFER.duplicate();
+        PAYLOAD = new byte[MAX_PAYLOAD_BYTES];
+        CHECKSUM = new CRC32();
+        NAMES = new ArrayList<>();
+        nameScanPosition = HEADER_BYTES;
+
+        int end = BUFFER.limit();
+
+        //The log normally ends with an intact record, only a crash part way through a write leaves it damaged
+        if (end == HEADER_BYTES || findRecordBefore(end) >= 0)
+            VALID_LENGTH = end;
+        else
+            VALID_LENGTH = checkRecords();
+    }
+
+    /**
+     * Checks the log starts with a header this version can read
+     * @param buffer Holds the start of the log
+     * @param available The amount of bytes of the log in the buffer
+     * @throws IOException if it isn't a score log, or was saved by a newer version
+     */
+    static void checkHeader(ByteBuffer buffer, int available) throws IOException {
+
+        if (available < HEADER_BYTES || buffer.getInt(0) != MAGIC)
+            throw new IOException("The score log is damaged or isn't a score log");
+
+        if (buffer.getShort(4) > VERSION)
+            throw new IOException("The score log was saved by a newer version of the game");
+    }
+
+    /**
+     * Checks every record from the start of the log and reads the names
+     * @return the length of the log up to its first damaged record
+     */
+    private int checkRecords() {
+
+        int position = HEADER_BYTES;
+
+        while (true) {
+
+            int length = checkRecord(position, BUFFER.limit());
+
+            if (length < 0)
+                break;
+
+            if (PAYLOAD[0] == NAME && !addName(position, length))
+                break;
+
+            //A score can only use names stored before it
+            if (PAYLOAD[0] == SCORE && (BUFFER.getInt(position + 13) >= NAMES.size()
+                    || BUFFER.getInt(position + 21) >= NAMES.size()))
+                break;
+
+            position += length + RECORD_OVERHEAD;
+        }
+
+        nameScanPosition = position;
+
+        return position;
+    }
+
+    /**
+     * Checks the lengths, checksum and type of a record and copies its payload into PAYLOAD
+     * @param position The position of the record
+     * @param limit The end of the part of the log the record has to fit in
+     * @return the length of the payload, or -1 if the record is damaged
+     */
+    private int checkRecord(int position, int limit) {
+        return checkRecord(BUFFER, VIEW, position, limit, PAYLOAD, CHECKSUM);
+    }
+
+    /**
+     * Checks the lengths, checksum and type of a record held in a buffer and copies its payload out,
+     * ScoreLogScanner checks records the same way
+     * @param buffer Holds the record
+     * @param view A duplicate of the buffer, the payload is copied out through it
+     * @param position The position of the record in the buffer
+     * @param limit The end of the part of the buffer the record has to fit in
+     * @param payload Where the payload is copied to
+     * @param checksum Works out the checksum of the payload
+     * @return the length of the payload, or -1 if the record is damaged
+     */
+    static int checkRecord(ByteBuffer buffer, ByteBuffer view, int position, int limit, byte[] payload, CRC32 checksum) {
+
+        if (limit - position < RECORD_OVERHEAD)
+            return -1;
+
+        int length = buffer.getInt(position);
+        int start = position + 4;
+
+        if (length <= 0 || length > MAX_PAYLOAD_BYTES || limit - start - 8 < length)
+            return -1;
+
+        if (buffer.getInt(start + length + 4) != length)
+            return -1;
+
+        view.position(start);
+        view.get(payload, 0, length);
+
+        checksum.reset();
+        checksum.update(payload, 0, length);
+
+        if ((int) checksum.getValue() != buffer.getInt(start + length))
+            return -1;
+
+        if (payload[0] == NAME)
+            return length >= 5 ? length : -1;
+
+        if (payload[0] == SCORE)
+            return length == SCORE_PAYLOAD_BYTES ? length : -1;
+
+        return -1;
+    }
+
+    /**
+     * Finds the record that ends at a position, using the length stored after it
+     * @param end The position just after the record
+     * @return the position of the record, or -1 if there isn't an intact record ending there
+     */
+    private int findRecordBefore(int end) {
+
+        if (end - HEADER_BYTES < RECORD_OVERHEAD)
+            return -1;
+
+        int length = BUFFER.getInt(end - 4);
+
+        if (length <= 0 || length > MAX_PAYLOAD_BYTES || end - HEADER_BYTES - RECORD_OVERHEAD < length)
+            return -1;
+
+        int position = end - RECORD_OVERHEAD - length;
+
+        return checkRecord(position, end) == length ? position : -1;
+    }
+
+    /**
+     * Adds the name of a checked NAME record
+     * @param position The position of the record
+     * @param length The length of its payload
+     * @return false if it isn't the next id, which means the log is damaged
+     */
+    private boolean addName(int position, int length) {
+
+        //Ids are handed out in order, so a name is always the next id
+        if (BUFFER.getInt(position + 5) != NAMES.size())
+            return false;
+
+        NAMES.add(new String(PAYLOAD, 5, length - 5, StandardCharsets.UTF_8));
+
+        return true;
+    }
+
+    /**
+     * Gets a name, looking further on in the log for it if it hasn't been found yet
+     * @param id The id of the name
+     * @return the name, or null if the log doesn't have it
+     */
+    private String getName(int id) {
+
+        while (id >= NAMES.size() && nameScanPosition < VALID_LENGTH) {
+
+            int length = BUFFER.getInt(nameScanPosition);
+
+            //Scores are stepped over without being checked, they're checked when they're read
+            boolean damaged = length <= 0 || length > MAX_PAYLOAD_BYTES
+                    || VALID_LENGTH - nameScanPosition - RECORD_OVERHEAD < length;
+
+            if (!damaged && BUFFER.get(nameScanPosition + 4) == NAME)
+                damaged = checkRecord(nameScanPosition, VALID_LENGTH) != length || !addName(nameScanPosition, length);
+
+            nameScanPosition = damaged ? VALID_LENGTH : nameScanPosition + length + RECORD_OVERHEAD;
+        }
+
+        return id >= 0 && id < NAMES.size() ? NAMES.get(id) : null;
+    }
+
+    /**
+     * Reads every score in the order they were saved
+     * @return the scores
+     */
+    public List<RecentScore> readAll() {
+
+        List<RecentScore> scores = new ArrayList<>();
+        int position = HEADER_BYTES;
+
+        while (position < VALID_LENGTH) {
+
+            int length = checkRecord(position, VALID_LENGTH);
+
+            if (length < 0)
+                break;
+
+            if (PAYLOAD[0] == SCORE) {
+                RecentScore score = readScore(position);
+
+                if (score == null)
+                    break;
+
+                scores.add(score);
+            }
+
+            position += length + RECORD_OVERHEAD;
+        }
+
+        return scores;
+    }
+
+    /**
+     * Goes through every score in the order they were saved, stopping at the first damaged record like readAll.
+     * Only the fields an index needs are read, so no scores are created
+     * @param visitor Told about each score
+     */
+    void forEachScore(ScoreVisitor visitor) {
+
+        int position = HEADER_BYTES;
+
+        while (position < VALID_LENGTH) {
+
+            int length = checkRecord(position, VALID_LENGTH);
+
+            if (length < 0)
+                break;
+
+            if (PAYLOAD[0] == SCORE) {
+
+                int start = position + 4;
+
+                String name1 = getName(BUFFER.getInt(start + 9));
+                String name2 = getName(BUFFER.getInt(start + 17));
+
+                if (name1 == null || name2 == null)
+                    break;
+
+                visitor.visit(position, BUFFER.getLong(start + 1), name1, name2, BUFFER.get(start + 25));
+            }
+
+            position += length + RECORD_OVERHEAD;
+        }
+    }
+
+    /**
+     * Reads a score found by forEachScore
+     * @param position The position of its record
+     * @return the score, or null if there isn't an intact score there
+     */
+    RecentScore readScoreAt(int position) {
+
+        if (position < HEADER_BYTES || checkRecord(position, VALID_LENGTH) < 0 || PAYLOAD[0] != SCORE)
+            return null;
+
+        return readScore(position);
+    }
+
+    /**
+     * Reads scores from newest to oldest, starting from getEnd for the newest score
+     * and carrying on from the position returned for the scores older than those
+     * @param end The position to read back from
+     * @param count The most scores to read
+     * @param scores The list to add the scores to
+     * @return the position to carry on from, or getStart if there are no older scores
+     */
+    public int readBackwards(int end, int count, List<RecentScore> scores) {
+
+        for (int read = 0; read < count; ) {
+
+            int position = findRecordBefore(end);
+
+            if (position < 0)
+                return getStart();
+
+            if (PAYLOAD[0] == SCORE) {
+                RecentScore score = readScore(position);
+
+                if (score == null)
+                    return getStart();
+
+                scores.add(score);
+                read++;
+            }
+
+            end = position;
+        }
+
+        return end;
+    }
+
+    /**
+     * Reads a checked SCORE record
+     * @param position The position of the record
+     * @return the score, or null if its names aren't in the log
+     */
+    private RecentScore readScore(int position) {
+
+        int start = position + 4;
+
+        String name1 = getName(BUFFER.getInt(start + 9));
+        String name2 = getName(BUFFER.getInt(start + 17));
+
+        if (name1 == null || name2 == null)
+            return null;
+
+        Player player1 = new Player(name1, null);
+        player1.setScore(BUFFER.getInt(start + 13));
+
+        Player player2 = new Player(name2, null);
+        player2.setScore(BUFFER.getInt(start + 21));
+
+        return new RecentScore(player1, player2, BUFFER.get(start + 25), BUFFER.getLong(start + 1));
+    }
+
+    /**
+     *
+     * @return the position of the first record, reading backwards stops here
+     */
+    public int getStart() {
+        return HEADER_BYTES;
+    }
+
+    /**
+     *
+     * @return the position just after the last intact record, reading backwards starts from here
+     */
+    public int getEnd() {
+        return VALID_LENGTH;
+    }
+}
@@ -0,0 +1,232 @@
+package game.models.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static game.models.io.ScoreLog.*;
+
+/**
+ * Finds what appending to a ScoreLog needs, every name and where the intact records end, by streaming the log
+ * through a fixed size window instead of reading it all into memory. Like ScoreLogReader only the last record is
+ * checked up front, then the scores are stepped over and only the names are checked. Every record is only checked
+ * if the last one, or a record on the way through, was damaged by a crash
+ */
+class ScoreLogScanner {
+
+    private static final int WINDOW_BYTES = 64 * 1024; //How much of the log is read at a time
+
+    private final FileChannel CHANNEL; //The open log
+    private final ByteBuffer WINDOW; //The part of the log read in last
+    private final ByteBuffer VIEW; //Copies payloads out of WINDOW to checksum them
+    private final byte[] PAYLOAD; //The payload of the last record checked
+    private final ByteBuffer PAYLOAD_VIEW; //Reads the fields of PAYLOAD
+    private final CRC32 CHECKSUM; //Reused for every record
+    private final List<String> NAMES; //The names found so far, indexed by id
+
+    private final int END; //The length of the log up to its first damaged record
+    private long windowStart; //The position in the log of the start of WINDOW
+
+    /**
+     * Scans a log
+     * @param channel The open log
+     * @throws IOException if the log can't be read, or isn't a score log this version can read
+     */
+    ScoreLogScanner(FileChannel channel) throws IOException {
+
+        long size = channel.size();
+
+        if (size > Integer.MAX_VALUE)
+            throw new IOException("The score log is too large to read");
+
+        CHANNEL = channel;
+        WINDOW = ByteBuffer.allocate(WINDOW_BYTES);
+        WINDOW.flip();
+        VIEW = WINDOW.duplicate();
+        PAYLOAD = new byte[MAX_PAYLOAD_BYTES];
+        PAYLOAD_VIEW = ByteBuffer.wrap(PAYLOAD);
+        CHECKSUM = new CRC32();
+        NAMES = new ArrayList<>();
+
+        load(0, HEADER_BYTES);
+        ScoreLogReader.checkHeader(WINDOW, WINDOW.limit());
+
+        int end = (int) size;
+        int validLength = -1;
+
+        //The log normally ends with an intact record, only a crash part way through a write leaves it damaged
+        if (end == HEADER_BYTES || isIntactRecordBefore(end))
+            validLength = findNames(end);
+
+        if (validLength < 0) {
+            NAMES.clear();
+            validLength = checkRecords(end);
+        }
+
+        END = validLength;
+    }
+
+    /**
+     *
+     * @return every name in the log, indexed by id
+     */
+    List<String> getNames() {
+        return NAMES;
+    }
+
+    /**
+     *
+     * @return the length of the log up to its first damaged record
+     */
+    int getEnd() {
+        return END;
+    }
+
+    /**
+     * Makes sure part of the log is in WINDOW, reading the window in from there if it isn't
+     * @param position The position in the log of the part
+     * @param length The length of the part
+     * @return false if the log ends before the part does
+     * @throws IOException if the log can't be read
+     */
+    private boolean load(long position, int length) throws IOException {
+
+        if (position >= windowStart && position + length <= windowStart + WINDOW.limit())
+            return true;
+
+        WINDOW.clear();
+        windowStart = position;
+
+        while (WINDOW.hasRemaining())
+            if (CHANNEL.read(WINDOW, position + WINDOW.position()) < 0)
+                break;
+
+        WINDOW.flip();
+        VIEW.limit(WINDOW.limit());
+
+        return length <= WINDOW.limit();
+    }
+
+    /**
+     * Loads a record into WINDOW and checks it
+     * @param position The position of the record in the log
+     * @param limit The end of the part of the log the record has to fit in
+     * @return the length of the payload, or -1 if the record is damaged
+     * @throws IOException if the log can't be read
+     */
+    private int checkRecord(int position, int limit) throws IOException {
+
+        if (limit - position < RECORD_OVERHEAD || !load(position, 4))
+            return -1;
+
+        int length = WINDOW.getInt((int) (position - windowStart));
+
+        if (length <= 0 || length > MAX_PAYLOAD_BYTES || limit - position - RECORD_OVERHEAD < length
+                || !load(position, length + RECORD_OVERHEAD))
+            return -1;
+
+        int offset = (int) (position - windowStart);
+
+        return ScoreLogReader.checkRecord(WINDOW, VIEW, offset, offset + length + RECORD_OVERHEAD, PAYLOAD, CHECKSUM);
+    }
+
+    /**
+     * Checks the record that ends at a position, using the length stored after it
+     * @param end The position just after the record
+     * @return true if there's an intact record ending there
+     * @throws IOException if the log can't be read
+     */
+    private boolean isIntactRecordBefore(int end) throws IOException {
+
+        if (end - HEADER_BYTES < RECORD_OVERHEAD || !load(end - 4, 4))
+            return false;
+
+        int length = WINDOW.getInt((int) (end - 4 - windowStart));
+
+        if (length <= 0 || length > MAX_PAYLOAD_BYTES || end - HEADER_BYTES - RECORD_OVERHEAD < length)
+            return false;
+
+        return checkRecord(end - RECORD_OVERHEAD - length, end) == length;
+    }
+
+    /**
+     * Adds the name in PAYLOAD
+     * @param length The length of the payload
+     * @return false if it isn't the next id, which means the log is damaged
+     */
+    private boolean addName(int length) {
+
+        //Ids are handed out in order, so a name is always the next id
+        if (PAYLOAD_VIEW.getInt(1) != NAMES.size())
+            return false;
+
+        NAMES.add(new String(PAYLOAD, 5, length - 5, StandardCharsets.UTF_8));
+
+        return true;
+    }
+
+    /**
+     * Reads every name, stepping over the scores without checking them
+     * @param end The end of the log
+     * @return the end of the log, or -1 if a damaged record was found on the way
+     * @throws IOException if the log can't be read
+     */
+    private int findNames(int end) throws IOException {
+
+        int position = HEADER_BYTES;
+
+        while (position < end) {
+
+            if (!load(position, 5))
+                return -1;
+
+            int offset = (int) (position - windowStart);
+            int length = WINDOW.getInt(offset);
+
+            if (length <= 0 || length > MAX_PAYLOAD_BYTES || end - position - RECORD_OVERHEAD < length)
+                return -1;
+
+            if (WINDOW.get(offset + 4) == NAME && (checkRecord(position, end) != length || !addName(length)))
+                return -1;
+
+            position += length + RECORD_OVERHEAD;
+        }
+
+        return end;
+    }
+
+    /**
+     * Checks every record from the start of the log and reads the names
+     * @param end The end of the log
+     * @return the length of the log up to its first damaged record
+     * @throws IOException if the log can't be read
+     */
+    private int checkRecords(int end) throws IOException {
+
+        int position = HEADER_BYTES;
+
+        while (true) {
+
+            int length = checkRecord(position, end);
+
+            if (length < 0)
+                break;
+
+            if (PAYLOAD[0] == NAME && !addName(length))
+                break;
+
+            //A score can only use names stored before it
+            if (PAYLOAD[0] == SCORE && (PAYLOAD_VIEW.getInt(9) >= NAMES.size()
+                    || PAYLOAD_VIEW.getInt(17) >= NAMES.size()))
+                break;
+
+            position += length + RECORD_OVERHEAD;
+        }
+
+        return position;
+    }
+}
@@ -0,0 +1,52 @@
+package game.models.io;
+
+import game.models.model.RecentScore;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the recent scores a page at a time, newest first. Only the pages asked for are read, so the first page
+ * comes back as quickly whether fifty games or millions have been saved. The pager sees the scores saved up to
+ * when it was opened. Pages can be read on any thread
+ */
+public class ScorePager {
+
+    public static final int DEFAULT_PAGE_SIZE = 100; //The amount of scores in a page unless asked otherwise
+
+    private final ScoreLogReader READER; //Reads the log, null if no scores have been saved
+
+    private int position; //Where the next page is read back from
+
+    /**
+     *
+     * @param reader Reads the log, null if no scores have been saved
+     */
+    ScorePager(ScoreLogReader reader) {
+        this.READER = reader;
+        this.position = reader == null ? 0 : reader.getEnd();
+    }
+
+    /**
+     * Reads the next page of scores
+     * @param size The most scores to read
+     * @return the scores older than the ones already read, newest first. It's empty once every score has been read
+     */
+    public synchronized List<RecentScore> nextPage(int size) {
+
+        List<RecentScore> page = new ArrayList<>(Math.min(size, DEFAULT_PAGE_SIZE));
+
+        if (hasMore())
+            position = READER.readBackwards(position, size, page);
+
+        return page;
+    }
+
+    /**
+     *
+     * @return whether there are older scores still to read
+     */
+    public synchronized boolean hasMore() {
+        return READER != null && position > READER.getStart();
+    }
+}
@@ -0,0 +1,284 @@
+package game.models.io;
+
+import game.models.model.RecentScore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indexes the score log on when each score was played, who played it and the grid dimension, so sorted and
+ * filtered views don't have to look at every score. Only the timestamp and the position in the log of each score
+ * are kept in memory, the scores themselves are read from the log a page at a time. Each index holds the ids of its
+ * scores sorted by timestamp, a query picks the one index that matches all of its filters, binary searches it for
+ * the time range and reads only the scores asked for, which takes O(log n + k) for k scores. Scores nearly always
+ * arrive in time order, so indexing one is normally an append to each of its indexes. The store sees the scores
+ * saved up to when it was built. It can be used from any thread
+ */
+public class ScoreStore {
+
+    public static final int ANY_DIMENSION = 0; //Matches every grid dimension
+
+    private final ScoreLogReader READER; //Reads the scores asked for, null if no scores have been saved
+    private final Index BY_TIME; //Every score
+    private final Map<String, Index> BY_PLAYER; //The scores each player played in
+    private final Map<Integer, Index> BY_DIMENSION; //The scores played on each grid dimension
+    private final Map<String, Map<Integer, Index>> BY_PLAYER_DIMENSION; //The scores of each player on each dimension
+
+    private long[] timestamps; //The timestamp of each score by id, so searching doesn't read the log
+    private int[] positions; //Where each score's record is in the log by id
+    private int size; //The amount of scores indexed, ids run from 0 to size - 1
+
+    /**
+     * Indexes every score in the log
+     * @param reader Reads the log, null if no scores have been saved
+     */
+    ScoreStore(ScoreLogReader reader) {
+        this.READER = reader;
+        this.BY_TIME = new Index();
+        this.BY_PLAYER = new HashMap<>();
+        this.BY_DIMENSION = new HashMap<>();
+        this.BY_PLAYER_DIMENSION = new HashMap<>();
+        this.timestamps = new long[Index.INITIAL_CAPACITY];
+        this.positions = new int[Index.INITIAL_CAPACITY];
+
+        if (reader != null)
+            reader.forEachScore(this::add);
+
+        //Nothing is added once the log has been indexed, so the room left for more is given back
+        timestamps = Arrays.copyOf(timestamps, size);
+        positions = Arrays.copyOf(positions, size);
+        BY_TIME.trim();
+        BY_DIMENSION.values().forEach(Index::trim);
+        BY_PLAYER.values().forEach(Index::trim);
+        BY_PLAYER_DIMENSION.values().forEach(dimensions -> dimensions.values().forEach(Index::trim));
+    }
+
+    /**
+     * Adds a score to the indexes
+     * @param position The position of the score's record in the log
+     * @param timestamp When the score was saved
+     * @param player1 The name of the first player
+     * @param player2 The name of the second player
+     * @param dimension The grid dimension the game was played on
+     */
+    private void add(int position, long timestamp, String player1, String player2, int dimension) {
+
+        int id = size;
+
+        if (id == timestamps.length) {
+            timestamps = Arrays.copyOf(timestamps, id * 2);
+            positions = Arrays.copyOf(positions, id * 2);
+        }
+
+        timestamps[id] = timestamp;
+        positions[id] = position;
+        size++;
+
+        BY_TIME.add(id);
+        BY_DIMENSION.computeIfAbsent(dimension, key -> new Index()).add(id);
+        addToPlayer(player1, dimension, id);
+
+        //Someone playing against themselves is only indexed once
+        if (!player2.equals(player1))
+            addToPlayer(player2, dimension, id);
+    }
+
+    /**
+     * Adds a score to the indexes of one of its players
+     * @param player The name of the player
+     * @param dimension The grid dimension the score was played on
+     * @param id The id of the score
+     */
+    private void addToPlayer(String player, int dimension, int id) {
+        BY_PLAYER.computeIfAbsent(player, key -> new Index()).add(id);
+        BY_PLAYER_DIMENSION.computeIfAbsent(player, key -> new HashMap<>())
+                .computeIfAbsent(dimension, key -> new Index()).add(id);
+    }
+
+    /**
+     * Finds a page of scores
+     * @param player The name of a player the scores have to include, null for anyone
+     * @param dimension The grid dimension the scores were played on, or ANY_DIMENSION
+     * @param newestFirst true for the newest scores first, false for the oldest
+     * @param offset The amount of matching scores to skip, the scores already shown
+     * @param count The most scores to return
+     * @return the matching scores
+     */
+    public List<RecentScore> find(String player, int dimension, boolean newestFirst, int offset, int count) {
+        return findBetween(Long.MIN_VALUE, Long.MAX_VALUE, player, dimension, newestFirst, offset, count);
+    }
+
+    /**
+     * Finds a page of the scores played in a span of time
+     * @param from The earliest timestamp to include, in milliseconds since the epoch
+     * @param to The timestamp to stop before, in milliseconds since the epoch
+     * @param player The name of a player the scores have to include, null for anyone
+     * @param dimension The grid dimension the scores were played on, or ANY_DIMENSION
+     * @param newestFirst true for the newest scores first, false for the oldest
+     * @param offset The amount of matching scores to skip, the scores already shown
+     * @param count The most scores to return
+     * @return the matching scores, a score damaged in the log since the store was built is left out
+     */
+    public synchronized List<RecentScore> findBetween(long from, long to, String player, int dimension,
+                                                      boolean newestFirst, int offset, int count) {
+
+        Index index = getIndex(player, dimension);
+
+        if (index == null || offset < 0 || count <= 0)
+            return new ArrayList<>();
+
+        int start = index.search(from);
+        int end = index.search(to);
+        int available = Math.max(0, Math.min(count, end - start - offset));
+
+        List<RecentScore> scores = new ArrayList<>(available);
+
+        for (int i = 0; i < available; i++) {
+
+            int id = index.ids[newestFirst ? end - 1 - offset - i : start + offset + i];
+            RecentScore score = READER.readScoreAt(positions[id]);
+
+            if (score != null)
+                scores.add(score);
+        }
+
+        return scores;
+    }
+
+    /**
+     * Finds the last games a player played
+     * @param player The name of the player
+     * @param count The most games to return
+     * @return the player's games, newest first
+     */
+    public List<RecentScore> getLastGames(String player, int count) {
+        return find(player, ANY_DIMENSION, true, 0, count);
+    }
+
+    /**
+     * Counts the scores that match some filters
+     * @param player The name of a player the scores have to include, null for anyone
+     * @param dimension The grid dimension the scores were played on, or ANY_DIMENSION
+     * @return the amount of matching scores
+     */
+    public synchronized int count(String player, int dimension) {
+
+        Index index = getIndex(player, dimension);
+
+        return index == null ? 0 : index.size;
+    }
+
+    /**
+     *
+     * @return the amount of scores in the store
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     *
+     * @return the name of everyone with a score, in alphabetical order
+     */
+    public synchronized List<String> getPlayers() {
+
+        List<String> players = new ArrayList<>(BY_PLAYER.keySet());
+        Collections.sort(players, String.CASE_INSENSITIVE_ORDER);
+
+        return players;
+    }
+
+    /**
+     *
+     * @return every grid dimension that has been played on, smallest first
+     */
+    public synchronized List<Integer> getDimensions() {
+
+        List<Integer> dimensions = new ArrayList<>(BY_DIMENSION.keySet());
+        Collections.sort(dimensions);
+
+        return dimensions;
+    }
+
+    /**
+     * Picks the index that matches both filters
+     * @param player The name of a player, null for anyone
+     * @param dimension A grid dimension, or ANY_DIMENSION
+     * @return the index, or null if no score matches
+     */
+    private Index getIndex(String player, int dimension) {
+
+        if (player == null)
+            return dimension == ANY_DIMENSION ? BY_TIME : BY_DIMENSION.get(dimension);
+
+        if (dimension == ANY_DIMENSION)
+            return BY_PLAYER.get(player);
+
+        Map<Integer, Index> dimensions = BY_PLAYER_DIMENSION.get(player);
+
+        return dimensions == null ? null : dimensions.get(dimension);
+    }
+
+    /**
+     * The ids of some scores sorted by timestamp, scores with the same timestamp are in the order they were added
+     */
+    private class Index {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private int[] ids = new int[INITIAL_CAPACITY]; //The ids of the scores, only the first size are used
+        private int size; //The amount of scores in the index
+
+        /**
+         * Adds a score, it has to be the newest id in the store
+         * @param id The id of the score
+         */
+        private void add(int id) {
+
+            if (size == ids.length)
+                ids = Arrays.copyOf(ids, size * 2);
+
+            //A score older than the last one, from the clock being put back, is moved into place
+            int position = size == 0 || timestamps[ids[size - 1]] <= timestamps[id] ? size : search(timestamps[id] + 1);
+
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+
+            ids[position] = id;
+            size++;
+        }
+
+        /**
+         * Shrinks the ids to the scores in the index
+         */
+        private void trim() {
+            ids = Arrays.copyOf(ids, size);
+        }
+
+        /**
+         * Binary searches for a timestamp
+         * @param timestamp The timestamp, in milliseconds since the epoch
+         * @return the position of the first score played at or after the timestamp, or size if there isn't one
+         */
+        private int search(long timestamp) {
+
+            int low = 0;
+            int high = size;
+
+            while (low < high) {
+
+                int middle = (low + high) >>> 1;
+
+                if (timestamps[ids[middle]] < timestamp)
+                    low = middle + 1;
+                else
+                    high = middle;
+            }
+
+            return low;
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package game.models.io;
+
+import game.models.model.RecentScore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Saves scores to a ScoreLog in the background. Saving only queues the score, a single writer thread takes
+ * everything queued since its last write and appends it as one batch, keeping the log open between batches.
+ * The queue is bounded so a caller saving faster than the disk can keep up waits rather than using up memory.
+ * When the log is synced to the disk is up to the SyncPolicy. Closing the writer saves everything still queued
+ */
+public class ScoreWriter implements Closeable {
+
+    /**
+     * When appended scores are forced out to the disk
+     */
+    public enum SyncPolicy {
+        EVERY_BATCH, //Each batch is synced before the next one is written, a crash loses nothing that was written
+        INTERVAL, //Synced at most once per interval, a crash can lose the last interval's scores
+        ON_CLOSE //Only synced when the writer is closed, the operating system decides when scores reach the disk
+    }
+
+    /**
+     * Opens the log the scores are saved to, it's run on the writer thread the first time a batch is written
+     */
+    public interface LogOpener {
+        ScoreLog open() throws IOException;
+    }
+
+    /**
+     * Told when scores couldn't be saved
+     */
+    public interface FailureListener {
+        /**
+         * Called on the writer thread, so it should hand the error on rather than wait for anything
+         * @param error Why the scores couldn't be saved
+         * @param lostCount The amount of scores that weren't saved, 0 if they were but the log couldn't be closed
+         */
+        void saveFailed(Exception error, int lostCount);
+    }
+
+    public static final int DEFAULT_CAPACITY = 4096; //The amount of scores that can wait to be written
+    public static final int MAX_BATCH_SIZE = 512; //The most scores written in one go
+
+    //Queued by close to tell the writer thread there's nothing more to come
+    private static final RecentScore END = new RecentScore(null, null, 0, 0L);
+
+    private final LogOpener OPENER; //Opens the log the scores are saved to
+    private final SyncPolicy SYNC_POLICY; //When the log is synced
+    private final long SYNC_INTERVAL_NANOS; //How often the log is synced with SyncPolicy.INTERVAL
+    private final BlockingQueue<RecentScore> QUEUE; //The scores waiting to be written
+    private final Thread WORKER; //The writer thread
+    private final Object PROGRESS_LOCK; //Guards the log and the count of written scores
+    private final ReadWriteLock CLOSE_LOCK; //Saves share the read lock, close takes the write lock to queue END
+    private final AtomicLong SUBMITTED_COUNT; //The amount of scores saved
+
+    private volatile boolean closed; //Set once the writer has been closed, under the write lock of CLOSE_LOCK
+    private volatile FailureListener failureListener; //Told when scores can't be saved, null to print the error
+
+    private ScoreLog log; //The open log, null until the first batch or after a failed write
+    private long processedCount; //The amount of scores the writer thread has dealt with
+    private long lastSync; //When the log was last synced, from System.nanoTime
+    private boolean unsynced; //Whether scores have been appended since the log was last synced
+
+    /**
+     * Creates a writer that syncs every batch
+     * @param path The log to save the scores to
+     */
+    public ScoreWriter(Path path) {
+        this(path, SyncPolicy.EVERY_BATCH, 0, DEFAULT_CAPACITY);
+    }
+
+    /**
+     *
+     * @param path The log to save the scores to
+     * @param syncPolicy When the log is synced to the disk
+     * @param syncIntervalMillis How often the log is synced with SyncPolicy.INTERVAL
+     * @param capacity The amount of scores that can wait to be written before saving waits
+     */
+    public ScoreWriter(Path path, SyncPolicy syncPolicy, long syncIntervalMillis, int capacity) {
+        this(() -> ScoreLog.open(path), syncPolicy, syncIntervalMillis, capacity);
+    }
+
+    /**
+     * Creates a writer that leaves opening the log to the writer thread, so setting up where it's kept doesn't
+     * hold up the first save
+     * @param opener Opens the log to save the scores to
+     * @param syncPolicy When the log is synced to the disk
+     * @param syncIntervalMillis How often the log is synced with SyncPolicy.INTERVAL
+     * @param capacity The amount of scores that can wait to be written before saving waits
+     */
+    public ScoreWriter(LogOpener opener, SyncPolicy syncPolicy, long syncIntervalMillis, int capacity) {
+        this.OPENER = opener;
+        this.SYNC_POLICY = syncPolicy;
+        this.SYNC_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(syncIntervalMillis);
+        this.QUEUE = new ArrayBlockingQueue<>(capacity);
+        this.PROGRESS_LOCK = new Object();
+        this.CLOSE_LOCK = new ReentrantReadWriteLock();
+        this.SUBMITTED_COUNT = new AtomicLong();
+        this.lastSync = System.nanoTime();
+
+        this.WORKER = new Thread(this::run, "Score writer");
+        this.WORKER.setDaemon(true);
+        this.WORKER.start();
+    }
+
+    /**
+     * Sets who is told when scores can't be saved
+     * @param listener The listener, null to print the error instead
+     */
+    public void setFailureListener(FailureListener listener) {
+        this.failureListener = listener;
+    }
+
+    /**
+     * Queues a score to be saved, waiting for room if the queue is full. Waiting doesn't hold up flushing,
+     * or other threads saving
+     * @param score The score to save
+     * @throws InterruptedException if the thread is interrupted while waiting for room
+     * @throws IllegalStateException if the writer has been closed
+     */
+    public void save(RecentScore score) throws InterruptedException {
+
+        //Held until the score is queued, so close can't queue END ahead of it
+        CLOSE_LOCK.readLock().lockInterruptibly();
+
+        try {
+
+            if (closed)
+                throw new IllegalStateException("The score writer has been closed");
+
+            QUEUE.put(score);
+            SUBMITTED_COUNT.incrementAndGet();
+
+        } finally {
+            CLOSE_LOCK.readLock().unlock();
+        }
+    }
+
+    /**
+     * Waits until every score saved so far has been written to the log, so reading the log will find them.
+     * Whether they have been synced to the disk is up to the SyncPolicy
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void flush() throws InterruptedException {
+
+        long target = SUBMITTED_COUNT.get();
+
+        synchronized (PROGRESS_LOCK) {
+            while (processedCount < target)
+                PROGRESS_LOCK.wait();
+        }
+    }
+
+    /**
+     * Saves everything still queued, syncs and closes the log, then stops the writer thread.
+     * Scores can't be saved afterwards
+     */
+    @Override
+    public void close() {
+
+        boolean interrupted = false;
+
+        //Waits for saves already queueing their scores, the writer thread makes room for them
+        CLOSE_LOCK.writeLock().lock();
+
+        try {
+
+            if (closed)
+                return;
+
+            closed = true;
+
+            while (true) {
+                try {
+                    QUEUE.put(END);
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+
+        } finally {
+            CLOSE_LOCK.writeLock().unlock();
+        }
+
+        while (WORKER.isAlive()) {
+            try {
+                WORKER.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted)
+            Thread.currentThread().interrupt();
+    }
+
+    /**
+     * The writer thread, it writes batches until END is taken from the queue
+     */
+    private void run() {
+
+        List<RecentScore> batch = new ArrayList<>(MAX_BATCH_SIZE);
+
+        try {
+
+            while (true) {
+
+                RecentScore score;
+
+                //With nothing to write the thread wakes up to sync the last scores once the interval is up
+                if (unsynced && SYNC_POLICY == SyncPolicy.INTERVAL)
+                    score = QUEUE.poll(SYNC_INTERVAL_NANOS - (System.nanoTime() - lastSync), TimeUnit.NANOSECONDS);
+                else
+                    score = QUEUE.take();
+
+                if (score == null) {
+                    write(batch, true);
+                    continue;
+                }
+
+                batch.add(score);
+                QUEUE.drainTo(batch, MAX_BATCH_SIZE - 1);
+
+                boolean end = batch.get(batch.size() - 1) == END;
+
+                if (end)
+                    batch.remove(batch.size() - 1);
+
+                write(batch, end);
+                batch.clear();
+
+                if (end)
+                    break;
+            }
+
+        } catch (InterruptedException e) {
+            //Only close stops the thread, it's never interrupted
+        } finally {
+            closeLog();
+        }
+    }
+
+    /**
+     * Appends a batch to the log and syncs it if the policy says to
+     * @param batch The scores to append
+     * @param forceSync Syncs the log whatever the policy
+     */
+    private void write(List<RecentScore> batch, boolean forceSync) {
+
+        Exception error = null;
+
+        synchronized (PROGRESS_LOCK) {
+
+            try {
+
+                //Closing a writer that never saved anything doesn't create the log
+                if (log == null && !batch.isEmpty())
+                    log = OPENER.open();
+
+                for (RecentScore score : batch)
+                    log.append(score);
+
+                unsynced |= !batch.isEmpty();
+
+                long now = System.nanoTime();
+
+                boolean sync = forceSync
+                        || SYNC_POLICY == SyncPolicy.EVERY_BATCH
+                        || (SYNC_POLICY == SyncPolicy.INTERVAL && now - lastSync >= SYNC_INTERVAL_NANOS);
+
+                if (sync && unsynced && log != null) {
+                    log.flush();
+                    lastSync = now;
+                    unsynced = false;
+                }
+
+            } catch (IOException | RuntimeException e) {
+                //The batch is lost, the log is opened again for the next one
+                error = e;
+                closeLog();
+            }
+
+            processedCount += batch.size();
+            PROGRESS_LOCK.notifyAll();
+        }
+
+        if (error != null)
+            reportFailure(error, batch.size());
+    }
+
+    /**
+     * Tells the listener scores couldn't be saved
+     * @param error Why they couldn't be saved
+     * @param lostCount The amount of scores that weren't saved
+     */
+    private void reportFailure(Exception error, int lostCount) {
+
+        FailureListener listener = failureListener;
+
+        if (listener == null) {
+            error.printStackTrace();
+            return;
+        }
+
+        try {
+            listener.saveFailed(error, lostCount);
+        } catch (RuntimeException e) {
+            //The writer carries on whatever the listener does
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Closes the log if it's open
+     */
+    private void closeLog() {
+
+        synchronized (PROGRESS_LOCK) {
+
+            if (log == null)
+                return;
+
+            try {
+                log.close();
+            } catch (IOException e) {
+                reportFailure(e, 0);
+            }
+
+            log = null;
+            unsynced = false;
+        }
+    }
+}
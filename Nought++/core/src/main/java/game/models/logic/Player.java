@@ -1,21 +1,21 @@
 package game.models.logic;
 
-import javafx.scene.image.Image;
+import java.util.Objects;
 
 public class Player {
 
     private String name;
-    private Image Image;
+    private String imageUrl; //Where the player's image is loaded from, the user interface loads and shows it
     private int score;
 
     /**
      *
      * @param name The players name
-     * @param img The players image
+     * @param imageUrl The url of the players image, or null if the player has none
      */
-    public Player(String name, Image img) {
+    public Player(String name, String imageUrl) {
         this.name = name;
-        this.Image = img;
+        this.imageUrl = imageUrl;
         this.score = 0;
     }
 
@@ -25,7 +25,7 @@ public class Player {
      */
     public Player(Player p) {
         this.name = p.getName();
-        this.Image = p.getImage();
+        this.imageUrl = p.getImageUrl();
         this.score = 0;
     }
 
@@ -39,10 +39,10 @@ public class Player {
 
     /**
      *
-     * @return the players image
+     * @return the url of the players image, or null if the player has none
      */
-    public Image getImage() {
-        return this.Image;
+    public String getImageUrl() {
+        return this.imageUrl;
     }
 
     /**
@@ -69,7 +69,7 @@ public class Player {
 
             boolean nameEqual = this.getName().equals(p.getName());
             boolean scoreEqual = this.getScore() == p.getScore();
-            boolean imageEqual = this.getImage().equals(p.getImage());
+            boolean imageEqual = Objects.equals(this.getImageUrl(), p.getImageUrl());
 
             return nameEqual && scoreEqual && imageEqual;
         }
@@ -3,14 +3,18 @@ package game.models.model;
 import game.models.logic.Player;
 
 import java.text.DateFormat;
+import java.text.ParseException;
 import java.text.SimpleDateFormat;
-import java.util.Calendar;
+import java.util.Date;
 
 public class RecentScore {
 
+    public static final String DATE_PATTERN = "yyyy/MM/dd HH:mm:ss"; //How dates are shown, and how the old score files stored them
+
     private Player player1;
     private Player player2;
-    private String date;
+    private long timestamp; //When the score was recorded, in milliseconds since the epoch
+    private String date; //The timestamp formatted with DATE_PATTERN, only formatted once it's asked for
     private int gridDimension;
 
     /**
@@ -23,9 +27,21 @@ public class RecentScore {
         this.player1 = p1;
         this.player2 = p2;
         this.gridDimension = dimension;
+        this.timestamp = System.currentTimeMillis();
+    }
 
-        DateFormat dateFormat = new SimpleDateFormat("yyyy/MM/dd HH:mm:ss");
-        this.date = dateFormat.format(Calendar.getInstance().getTime());
+    /**
+     * A recent score object
+     * @param p1 The player the recent score record is to be about
+     * @param p2 The second player the recent score record is to be about
+     * @param dimension The dimension of the grid that was played on
+     * @param timestamp When the recent score was created, in milliseconds since the epoch
+     */
+    public RecentScore(Player p1, Player p2, int dimension, long timestamp) {
+        this.player1 = p1;
+        this.player2 = p2;
+        this.gridDimension = dimension;
+        this.timestamp = timestamp;
     }
 
     /**
@@ -33,13 +49,15 @@ public class RecentScore {
      * @param p1 The player the recent score record is to be about
      * @param p2 The second player the recent score record is to be about
      * @param dimension The dimension of the grid that was played on
-     * @param date The date the recent score was created
+     * @param date The date the recent score was created, formatted with DATE_PATTERN
+     * @throws ParseException if the date doesn't match DATE_PATTERN
      */
-    public RecentScore(Player p1, Player p2, int dimension, String date) {
+    public RecentScore(Player p1, Player p2, int dimension, String date) throws ParseException {
         this.player1 = p1;
         this.player2 = p2;
         this.date = date;
         this.gridDimension = dimension;
+        this.timestamp = new SimpleDateFormat(DATE_PATTERN).parse(date).getTime();
     }
 
     @Override
@@ -56,9 +74,23 @@ public class RecentScore {
     }
 
     public String getDate() {
+
+        if (date == null) {
+            DateFormat dateFormat = new SimpleDateFormat(DATE_PATTERN);
+            date = dateFormat.format(new Date(timestamp));
+        }
+
         return date;
     }
 
+    /**
+     *
+     * @return when the recent score was created, in milliseconds since the epoch
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
     public Player getPlayer1() {
         return player1;
     }
@@ -0,0 +1,187 @@
+package game.models.ai;
+
+import game.models.engine.Board;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * The negamax search solves the small boards exactly and plays forced moves on the large ones
+ */
+public class NegamaxSearchTest {
+
+    private static final int WIN_THRESHOLD = NegamaxSearch.WIN_SCORE / 2; //Any score above this is a forced win
+
+    /**
+     * Sets up a board from rows of X, O and . for player one, player two and free cells
+     * @param amountToWin The amount of cells in a row needed to win
+     * @param rows The rows, top first
+     * @return the board
+     */
+    private static Board board(int amountToWin, String... rows) {
+
+        Board board = new Board(rows.length, amountToWin);
+
+        for (int row = 0; row < rows.length; row++)
+            for (int col = 0; col < rows.length; col++) {
+
+                char c = rows[row].charAt(col);
+
+                if (c == 'X')
+                    board.place(board.cellIndex(col, row), Board.PLAYER_ONE);
+                else if (c == 'O')
+                    board.place(board.cellIndex(col, row), Board.PLAYER_TWO);
+            }
+
+        return board;
+    }
+
+    /**
+     *
+     * @return a search that looks as deep as the board allows, with no time limit
+     */
+    private static NegamaxSearch exactSearch() {
+        return new NegamaxSearch(Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void emptyThreeByThreeIsADraw() {
+
+        NegamaxSearch search = exactSearch();
+        int move = search.findBestMove(new Board(3, 3), Board.PLAYER_ONE);
+
+        assertNotEquals(-1, move);
+        assertEquals(0, search.getBestScore());
+        assertEquals(9, search.getCompletedDepth());
+    }
+
+    @Test
+    public void everyOpeningOnThreeByThreeIsADraw() {
+
+        for (int cell = 0; cell < 9; cell++) {
+
+            Board board = new Board(3, 3);
+            board.place(cell, Board.PLAYER_ONE);
+
+            NegamaxSearch search = exactSearch();
+            search.findBestMove(board, Board.PLAYER_TWO);
+
+            assertEquals("opening " + cell, 0, search.getBestScore());
+        }
+    }
+
+    @Test
+    public void takesAWinInOne() {
+
+        Board board = board(3,
+                "XX.",
+                "OO.",
+                "...");
+
+        NegamaxSearch search = exactSearch();
+
+        assertEquals(2, search.findBestMove(board, Board.PLAYER_ONE));
+        assertTrue(search.getBestScore() > WIN_THRESHOLD);
+
+        //Player two takes its own win rather than blocking
+        assertEquals(5, search.findBestMove(board, Board.PLAYER_TWO));
+        assertTrue(search.getBestScore() > WIN_THRESHOLD);
+    }
+
+    @Test
+    public void blocksTheOnlyWinningCell() {
+
+        Board board = board(3,
+                "XX.",
+                ".O.",
+                "...");
+
+        NegamaxSearch search = exactSearch();
+
+        assertEquals(2, search.findBestMove(board, Board.PLAYER_TWO));
+        assertEquals(0, search.getBestScore());
+    }
+
+    @Test
+    public void findsTheForcedWinAfterAnEdgeReply() {
+
+        //An edge reply next to a corner opening loses for player two
+        Board board = board(3,
+                "XO.",
+                "...",
+                "...");
+
+        NegamaxSearch search = exactSearch();
+        int move = search.findBestMove(board, Board.PLAYER_ONE);
+
+        assertTrue(search.getBestScore() > WIN_THRESHOLD);
+
+        //Whatever player two does next, player one still wins
+        board.setSideToMove(Board.PLAYER_ONE);
+        board.play(move);
+
+        for (int reply = board.nextFreeCell(0); reply != -1; reply = board.nextFreeCell(reply + 1)) {
+
+            board.play(reply);
+
+            NegamaxSearch next = exactSearch();
+            next.findBestMove(board, Board.PLAYER_ONE);
+
+            assertTrue("reply " + reply, next.getBestScore() > WIN_THRESHOLD);
+
+            board.undo();
+        }
+    }
+
+    @Test
+    public void losingSideScoresALoss() {
+
+        //Player one has two ways to win, one block can't stop both
+        Board board = board(3,
+                "X.X",
+                "OX.",
+                "O..");
+
+        NegamaxSearch search = exactSearch();
+        search.findBestMove(board, Board.PLAYER_TWO);
+
+        assertTrue(search.getBestScore() < -WIN_THRESHOLD);
+    }
+
+    @Test
+    public void blocksAFourOnALargeBoard() {
+
+        Board board = new Board(15, 5);
+
+        //Player one has four in a row with one end blocked, player two has to take the other end
+        for (int col = 5; col < 9; col++)
+            board.place(board.cellIndex(col, 7), Board.PLAYER_ONE);
+
+        board.place(board.cellIndex(4, 7), Board.PLAYER_TWO);
+        board.place(board.cellIndex(3, 3), Board.PLAYER_TWO);
+        board.place(board.cellIndex(11, 11), Board.PLAYER_TWO);
+
+        NegamaxSearch search = new NegamaxSearch(3);
+
+        assertEquals(board.cellIndex(9, 7), search.findBestMove(board, Board.PLAYER_TWO));
+    }
+
+    @Test
+    public void completesAFourOnALargeBoard() {
+
+        Board board = new Board(15, 5);
+
+        for (int row = 3; row < 7; row++)
+            board.place(board.cellIndex(6, row), Board.PLAYER_TWO);
+
+        board.place(board.cellIndex(6, 2), Board.PLAYER_ONE);
+
+        for (int col = 9; col < 12; col++)
+            board.place(board.cellIndex(col, 10), Board.PLAYER_ONE);
+
+        NegamaxSearch search = new NegamaxSearch(3);
+
+        assertEquals(board.cellIndex(6, 7), search.findBestMove(board, Board.PLAYER_TWO));
+        assertTrue(search.getBestScore() > WIN_THRESHOLD);
+    }
+}
@@ -0,0 +1,127 @@
+package game.models.ai;
+
+import game.models.engine.Board;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * The runs ThreatEvaluator counts and how it keeps them up to date as stones are added and taken back
+ */
+public class ThreatEvaluatorTest {
+
+    @Test
+    public void runsAreCountedByTheirFreeEnds() {
+
+        Board board = new Board(9, 5);
+        ThreatEvaluator evaluator = new ThreatEvaluator(9, 5);
+
+        for (int col = 2; col <= 4; col++)
+            board.place(board.cellIndex(col, 4), Board.PLAYER_ONE);
+
+        evaluator.reset(board);
+        assertEquals(1, evaluator.getOpenRuns(Board.PLAYER_ONE, 3));
+        assertEquals(0, evaluator.getHalfOpenRuns(Board.PLAYER_ONE, 3));
+        assertTrue(evaluator.evaluate(Board.PLAYER_ONE) > 0);
+        assertEquals(-evaluator.evaluate(Board.PLAYER_ONE), evaluator.evaluate(Board.PLAYER_TWO));
+
+        board.place(board.cellIndex(5, 4), Board.PLAYER_TWO);
+        evaluator.reset(board);
+        assertEquals(0, evaluator.getOpenRuns(Board.PLAYER_ONE, 3));
+        assertEquals(1, evaluator.getHalfOpenRuns(Board.PLAYER_ONE, 3));
+    }
+
+    @Test
+    public void runsWithNoRoomToWinAreIgnored() {
+
+        Board board = new Board(5, 5);
+        ThreatEvaluator evaluator = new ThreatEvaluator(5, 5);
+
+        //Four cells are left between the stone of the other side and the edge of the board
+        board.place(board.cellIndex(0, 0), Board.PLAYER_TWO);
+
+        for (int col = 1; col <= 3; col++)
+            board.place(board.cellIndex(col, 0), Board.PLAYER_ONE);
+
+        evaluator.reset(board);
+        assertEquals(0, evaluator.getOpenRuns(Board.PLAYER_ONE, 3));
+        assertEquals(0, evaluator.getHalfOpenRuns(Board.PLAYER_ONE, 3));
+    }
+
+    @Test
+    public void updatesMatchAFreshCount() {
+
+        Random random = new Random(5);
+        int[][] sizes = {{9, 4}, {11, 5}, {6, 3}};
+
+        for (int[] size : sizes) {
+
+            Board board = new Board(size[0], size[1]);
+            ThreatEvaluator evaluator = new ThreatEvaluator(size[0], size[1]);
+            ThreatEvaluator fresh = new ThreatEvaluator(size[0], size[1]);
+
+            evaluator.reset(board);
+
+            for (int step = 0; step < 400; step++) {
+
+                int cell = random.nextInt(board.getCellCount());
+
+                if (board.isFree(cell))
+                    board.place(cell, random.nextInt(2));
+                else
+                    board.remove(cell);
+
+                evaluator.update(board, cell);
+                fresh.reset(board);
+
+                for (int length = 1; length < size[1]; length++) {
+                    for (int side = Board.PLAYER_ONE; side <= Board.PLAYER_TWO; side++) {
+                        assertEquals(fresh.getOpenRuns(side, length), evaluator.getOpenRuns(side, length));
+                        assertEquals(fresh.getHalfOpenRuns(side, length), evaluator.getHalfOpenRuns(side, length));
+                    }
+                }
+
+                assertEquals(fresh.evaluate(Board.PLAYER_ONE), evaluator.evaluate(Board.PLAYER_ONE));
+            }
+        }
+    }
+
+    @Test
+    public void scoringAMoveMatchesPlayingIt() {
+
+        Random random = new Random(7);
+        Board board = new Board(9, 4);
+        ThreatEvaluator evaluator = new ThreatEvaluator(9, 4);
+
+        for (int i = 0; i < 20; i++) {
+            int cell = random.nextInt(board.getCellCount());
+
+            if (board.isFree(cell))
+                board.place(cell, i % 2);
+        }
+
+        evaluator.reset(board);
+
+        for (int cell = 0; cell < board.getCellCount(); cell++) {
+
+            if (!board.isFree(cell))
+                continue;
+
+            for (int side = Board.PLAYER_ONE; side <= Board.PLAYER_TWO; side++) {
+
+                int before = evaluator.evaluate(side);
+                int delta = evaluator.scoreMove(board, cell, side);
+
+                board.place(cell, side);
+                evaluator.update(board, cell);
+                assertEquals("cell " + cell, evaluator.evaluate(side) - before, delta);
+
+                board.remove(cell);
+                evaluator.update(board, cell);
+                assertEquals(before, evaluator.evaluate(side));
+            }
+        }
+    }
+}
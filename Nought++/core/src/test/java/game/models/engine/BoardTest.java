@@ -0,0 +1,242 @@
+package game.models.engine;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Win detection through WinLines, and the bookkeeping of play and undo
+ */
+public class BoardTest {
+
+    /**
+     * Plays a line of cells for a side
+     * @param board The board to play on
+     * @param side The side to give the cells to
+     * @param col The column of the first cell
+     * @param row The row of the first cell
+     * @param colStep How far each cell is across from the last
+     * @param rowStep How far each cell is down from the last
+     * @param length The amount of cells
+     * @return the last cell played
+     */
+    private static int placeLine(Board board, int side, int col, int row, int colStep, int rowStep, int length) {
+
+        int cell = -1;
+
+        for (int i = 0; i < length; i++) {
+            cell = board.cellIndex(col + i * colStep, row + i * rowStep);
+            board.place(cell, side);
+        }
+
+        return cell;
+    }
+
+    /**
+     * Checks every line of a board one cell at a time, without WinLines
+     * @param board The board to check
+     * @param side The side to check
+     * @return true if the side has a complete line
+     */
+    private static boolean hasLine(Board board, int side) {
+
+        int dimension = board.getDimension();
+        int length = board.getAmountNeededToWin();
+        int[][] directions = {{1, 0}, {0, 1}, {1, 1}, {1, -1}};
+
+        for (int row = 0; row < dimension; row++)
+            for (int col = 0; col < dimension; col++)
+                for (int[] direction : directions) {
+
+                    int count = 0;
+
+                    for (int c = col, r = row; c >= 0 && r >= 0 && c < dimension && r < dimension
+                            && board.getOwner(c, r) == side; c += direction[0], r += direction[1])
+                        count++;
+
+                    if (count >= length)
+                        return true;
+                }
+
+        return false;
+    }
+
+    @Test
+    public void lineCountMatchesTheBoard() {
+
+        //Rows and columns have dimension - length + 1 lines each, both diagonals have that many squared
+        assertEquals(8, WinLines.forBoard(3, 3).getLineCount());
+        assertEquals(2 * 15 * 11 + 2 * 11 * 11, WinLines.forBoard(15, 5).getLineCount());
+        assertEquals(2 * 19 * 15 + 2 * 15 * 15, WinLines.forBoard(19, 5).getLineCount());
+    }
+
+    @Test
+    public void everyDirectionWins() {
+
+        int[][] directions = {{1, 0}, {0, 1}, {1, 1}, {1, -1}};
+
+        for (int[] direction : directions) {
+
+            Board board = new Board(3, 3);
+            int last = placeLine(board, Board.PLAYER_TWO, 0, direction[1] < 0 ? 2 : 0, direction[0], direction[1], 3);
+
+            assertTrue(board.isWinningMove(last));
+            assertNotEquals(-1, board.getWinLines().findWinningLine(board, Board.PLAYER_TWO));
+            assertEquals(-1, board.getWinLines().findWinningLine(board, Board.PLAYER_ONE));
+        }
+    }
+
+    @Test
+    public void linesAcrossBitboardWordsWin() {
+
+        //Cells 60 to 64 of a 15x15 board are split between the first two words
+        Board board = new Board(15, 5);
+        int last = placeLine(board, Board.PLAYER_ONE, 0, 4, 1, 0, 5);
+
+        assertTrue(board.isWinningMove(last));
+        assertArrayEquals(new int[] {60, 61, 62, 63, 64}, board.getWinningCells(last));
+
+        //A diagonal ending in the last word
+        board = new Board(15, 5);
+        last = placeLine(board, Board.PLAYER_TWO, 10, 10, 1, 1, 5);
+
+        assertTrue(board.isWinningMove(last));
+        assertEquals(224, last);
+    }
+
+    @Test
+    public void shortLinesAndWrappedRowsDontWin() {
+
+        Board board = new Board(15, 5);
+        int last = placeLine(board, Board.PLAYER_ONE, 3, 3, 1, 0, 4);
+
+        assertFalse(board.isWinningMove(last));
+        assertNull(board.getWinningCells(last));
+
+        //The end of one row and the start of the next are next to each other in cell order, but not a line
+        board = new Board(15, 5);
+        placeLine(board, Board.PLAYER_ONE, 12, 0, 1, 0, 3);
+        last = placeLine(board, Board.PLAYER_ONE, 0, 1, 1, 0, 2);
+
+        assertFalse(board.isWinningMove(last));
+        assertEquals(-1, board.getWinLines().findWinningLine(board, Board.PLAYER_ONE));
+
+        //Mixed owners don't make a line
+        board = new Board(3, 3);
+        placeLine(board, Board.PLAYER_ONE, 0, 0, 1, 0, 2);
+        board.place(2, Board.PLAYER_TWO);
+
+        assertFalse(board.isWinningMove(2));
+    }
+
+    @Test
+    public void winningCellIsCheckedWithoutPlaying() {
+
+        Board board = new Board(7, 4);
+        placeLine(board, Board.PLAYER_ONE, 1, 1, 1, 1, 3);
+
+        long hash = board.getHash();
+        int cell = board.cellIndex(4, 4);
+
+        assertTrue(board.isWinningCell(cell, Board.PLAYER_ONE));
+        assertFalse(board.isWinningCell(cell, Board.PLAYER_TWO));
+        assertTrue(board.isFree(cell));
+        assertEquals(hash, board.getHash());
+        assertEquals(3, board.getMoveCount());
+    }
+
+    @Test
+    public void winDetectionMatchesACellByCellCheck() {
+
+        Random random = new Random(42);
+        int[][] sizes = {{3, 3}, {4, 3}, {5, 4}, {9, 5}, {15, 5}};
+
+        for (int[] size : sizes)
+            for (int game = 0; game < 200; game++) {
+
+                Board board = new Board(size[0], size[1]);
+
+                for (int move = 0; move < board.getCellCount(); move++) {
+
+                    int cell;
+
+                    do {
+                        cell = random.nextInt(board.getCellCount());
+                    } while (!board.isFree(cell));
+
+                    int side = board.getSideToMove();
+                    boolean won = board.play(cell);
+
+                    assertEquals(hasLine(board, side), board.getWinLines().findWinningLine(board, side) != -1);
+
+                    //A move can only win if it completes a line, the game is stopped at the first win
+                    if (won) {
+                        assertTrue(hasLine(board, side));
+                        break;
+                    }
+
+                    assertFalse(hasLine(board, side));
+                }
+            }
+    }
+
+    @Test
+    public void undoRestoresTheBoard() {
+
+        Random random = new Random(7);
+        Board board = new Board(15, 5);
+        Board start = new Board(board);
+
+        int[] cells = new int[40];
+        long[] hashes = new long[cells.length];
+
+        for (int i = 0; i < cells.length; i++) {
+
+            do {
+                cells[i] = random.nextInt(board.getCellCount());
+            } while (!board.isFree(cells[i]));
+
+            hashes[i] = board.getHash();
+            board.play(cells[i]);
+        }
+
+        assertEquals(cells.length, board.getUndoCount());
+        assertEquals(cells.length, board.getMoveCount());
+
+        for (int i = cells.length - 1; i >= 0; i--) {
+            assertEquals(cells[i], board.undo());
+            assertEquals(hashes[i], board.getHash());
+            assertTrue(board.isFree(cells[i]));
+        }
+
+        assertTrue(board.isEmpty());
+        assertEquals(Board.PLAYER_ONE, board.getSideToMove());
+        assertEquals(start.getHash(), board.getHash());
+        assertEquals(0, board.countCells(Board.PLAYER_ONE) + board.countCells(Board.PLAYER_TWO));
+    }
+
+    @Test
+    public void freeCellsAreWalkedInOrder() {
+
+        Board board = new Board(9, 5);
+        int[] played = {0, 8, 63, 64, 80};
+
+        for (int cell : played)
+            board.place(cell, Board.PLAYER_ONE);
+
+        int count = 0;
+        int previous = -1;
+
+        for (int cell = board.nextFreeCell(0); cell != -1; cell = board.nextFreeCell(cell + 1)) {
+            assertTrue(cell > previous);
+            assertTrue(board.isFree(cell));
+            previous = cell;
+            count++;
+        }
+
+        assertEquals(board.countFreeCells(), count);
+        assertEquals(81 - played.length, count);
+    }
+}
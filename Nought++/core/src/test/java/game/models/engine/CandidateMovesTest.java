@@ -0,0 +1,127 @@
+package game.models.engine;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * The counts CandidateMoves keeps up to date as stones are added and taken back
+ */
+public class CandidateMovesTest {
+
+    /**
+     * Checks the candidates against a search of the cells around every stone
+     * @param board The board the stones were played on
+     * @param candidates The candidates to check
+     */
+    private static void assertMatchesBoard(Board board, CandidateMoves candidates) {
+
+        int dimension = board.getDimension();
+        int radius = candidates.getRadius();
+        boolean anyStone = !board.isEmpty();
+
+        int found = candidates.nextCandidate(board, 0);
+
+        for (int cell = 0; cell < board.getCellCount(); cell++) {
+
+            boolean near = false;
+            int col = board.column(cell), row = board.row(cell);
+
+            for (int r = Math.max(0, row - radius); r <= Math.min(dimension - 1, row + radius); r++)
+                for (int c = Math.max(0, col - radius); c <= Math.min(dimension - 1, col + radius); c++)
+                    if ((r != row || c != col) && !board.isFree(board.cellIndex(c, r)))
+                        near = true;
+
+            assertEquals("cell " + cell, near, candidates.isNearStone(cell));
+
+            //With no stones every free cell is a candidate
+            if (board.isFree(cell) && (near || !anyStone)) {
+                assertEquals(cell, found);
+                found = candidates.nextCandidate(board, cell + 1);
+            }
+        }
+
+        assertEquals(-1, found);
+    }
+
+    @Test
+    public void addAndRemoveMatchAFreshCount() {
+
+        Random random = new Random(3);
+        int[][] sizes = {{15, 2}, {19, 2}, {9, 1}, {11, 3}};
+
+        for (int[] size : sizes) {
+
+            Board board = new Board(size[0], 5);
+            CandidateMoves candidates = new CandidateMoves(size[0], size[1]);
+            candidates.reset(board);
+
+            int[] played = new int[30];
+
+            for (int i = 0; i < played.length; i++) {
+
+                do {
+                    played[i] = random.nextInt(board.getCellCount());
+                } while (!board.isFree(played[i]));
+
+                board.play(played[i]);
+                candidates.add(played[i]);
+
+                assertMatchesBoard(board, candidates);
+            }
+
+            //Taking the stones back in the order a search would leaves the counts as a reset works them out
+            for (int i = played.length - 1; i >= 0; i--) {
+
+                assertEquals(played[i], board.undo());
+                candidates.remove(played[i]);
+
+                CandidateMoves fresh = new CandidateMoves(size[0], size[1]);
+                fresh.reset(board);
+
+                for (int cell = 0; cell < board.getCellCount(); cell++)
+                    assertEquals(fresh.isNearStone(cell), candidates.isNearStone(cell));
+
+                assertMatchesBoard(board, candidates);
+            }
+
+            assertEquals(0, candidates.nextCandidate(board, 0));
+        }
+    }
+
+    @Test
+    public void stonesNearTheEdgeDontWrap() {
+
+        Board board = new Board(15, 5);
+        CandidateMoves candidates = new CandidateMoves(15, 2);
+
+        //The last cell of the first row is next to the first cell of the second in cell order only
+        int cell = board.cellIndex(14, 0);
+        board.place(cell, Board.PLAYER_ONE);
+        candidates.reset(board);
+
+        assertFalse(candidates.isNearStone(board.cellIndex(0, 1)));
+        assertTrue(candidates.isNearStone(board.cellIndex(12, 2)));
+        assertFalse(candidates.isNearStone(board.cellIndex(11, 0)));
+        assertMatchesBoard(board, candidates);
+    }
+
+    @Test
+    public void resetForgetsTheLastBoard() {
+
+        Board board = new Board(15, 5);
+        CandidateMoves candidates = new CandidateMoves(15, 2);
+
+        board.place(112, Board.PLAYER_ONE);
+        candidates.reset(board);
+
+        board.remove(112);
+        board.place(0, Board.PLAYER_TWO);
+        candidates.reset(board);
+
+        assertFalse(candidates.isNearStone(113));
+        assertMatchesBoard(board, candidates);
+    }
+}
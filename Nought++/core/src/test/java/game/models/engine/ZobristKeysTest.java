@@ -0,0 +1,185 @@
+package game.models.engine;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * The symmetries of ZobristKeys and the canonical hash a Board keeps with them
+ */
+public class ZobristKeysTest {
+
+    /**
+     * Copies a board through a symmetry
+     * @param board The board to copy
+     * @param symmetry The symmetry to move every stone through
+     * @return a new board with every stone moved
+     */
+    private static Board transform(Board board, int symmetry) {
+
+        ZobristKeys keys = board.getZobristKeys();
+        Board transformed = new Board(board.getDimension(), board.getAmountNeededToWin());
+
+        for (int cell = 0; cell < board.getCellCount(); cell++)
+            if (!board.isFree(cell))
+                transformed.place(keys.transform(symmetry, cell), board.getOwner(cell));
+
+        return transformed;
+    }
+
+    /**
+     * Plays some random stones
+     * @param dimension The dimension of the board
+     * @param stones The amount of stones to play
+     * @param random Picks the cells
+     * @return the board
+     */
+    private static Board randomBoard(int dimension, int stones, Random random) {
+
+        Board board = new Board(dimension, Math.min(dimension, 5));
+
+        for (int i = 0; i < stones; i++) {
+
+            int cell;
+
+            do {
+                cell = random.nextInt(board.getCellCount());
+            } while (!board.isFree(cell));
+
+            board.play(cell);
+        }
+
+        return board;
+    }
+
+    @Test
+    public void symmetriesAreTheEightDistinctPermutations() {
+
+        for (int dimension = 3; dimension <= 19; dimension++) {
+
+            ZobristKeys keys = ZobristKeys.forDimension(dimension);
+            Set<String> seen = new HashSet<>();
+            int cellCount = dimension * dimension;
+
+            for (int symmetry = 0; symmetry < ZobristKeys.SYMMETRY_COUNT; symmetry++) {
+
+                boolean[] hit = new boolean[cellCount];
+                StringBuilder permutation = new StringBuilder();
+
+                for (int cell = 0; cell < cellCount; cell++) {
+
+                    int transformed = keys.transform(symmetry, cell);
+
+                    assertFalse(hit[transformed]);
+                    hit[transformed] = true;
+                    assertEquals(cell, keys.inverse(symmetry, transformed));
+
+                    permutation.append(transformed).append(',');
+                }
+
+                assertTrue(seen.add(permutation.toString()));
+            }
+
+            for (int cell = 0; cell < cellCount; cell++)
+                assertEquals(cell, keys.transform(ZobristKeys.IDENTITY, cell));
+        }
+    }
+
+    @Test
+    public void symmetriesKeepTheCentreAndMoveTheCorners() {
+
+        ZobristKeys keys = ZobristKeys.forDimension(3);
+        Set<Integer> corners = new HashSet<>();
+
+        for (int symmetry = 0; symmetry < ZobristKeys.SYMMETRY_COUNT; symmetry++) {
+            assertEquals(4, keys.transform(symmetry, 4));
+            corners.add(keys.transform(symmetry, 0));
+        }
+
+        assertEquals(4, corners.size());
+        assertTrue(corners.contains(0) && corners.contains(2) && corners.contains(6) && corners.contains(8));
+    }
+
+    @Test
+    public void everySymmetryHasTheSameCanonicalHash() {
+
+        Random random = new Random(11);
+        int[] dimensions = {3, 4, 5, 7, 9, 15, 19};
+
+        for (int dimension : dimensions)
+            for (int position = 0; position < 50; position++) {
+
+                Board board = randomBoard(dimension, random.nextInt(dimension * dimension / 2 + 1), random);
+                long canonical = board.getCanonicalHash();
+
+                for (int symmetry = 0; symmetry < ZobristKeys.SYMMETRY_COUNT; symmetry++) {
+
+                    Board transformed = transform(board, symmetry);
+
+                    assertEquals(canonical, transformed.getCanonicalHash());
+
+                    //The canonical symmetry maps both boards onto the same cells
+                    ZobristKeys keys = board.getZobristKeys();
+                    int boardSymmetry = board.getCanonicalSymmetry();
+                    int transformedSymmetry = transformed.getCanonicalSymmetry();
+
+                    for (int cell = 0; cell < board.getCellCount(); cell++)
+                        assertEquals(board.getOwner(keys.inverse(boardSymmetry, cell)),
+                                transformed.getOwner(keys.inverse(transformedSymmetry, cell)));
+                }
+            }
+    }
+
+    @Test
+    public void differentPositionsHaveDifferentCanonicalHashes() {
+
+        Board corner = new Board(3, 3);
+        corner.place(0, Board.PLAYER_ONE);
+
+        Board edge = new Board(3, 3);
+        edge.place(1, Board.PLAYER_ONE);
+
+        Board centre = new Board(3, 3);
+        centre.place(4, Board.PLAYER_ONE);
+
+        Board otherSide = new Board(3, 3);
+        otherSide.place(0, Board.PLAYER_TWO);
+
+        Set<Long> hashes = new HashSet<>();
+        hashes.add(corner.getCanonicalHash());
+        hashes.add(edge.getCanonicalHash());
+        hashes.add(centre.getCanonicalHash());
+        hashes.add(otherSide.getCanonicalHash());
+
+        assertEquals(4, hashes.size());
+        assertNotEquals(new Board(3, 3).getCanonicalHash(), corner.getCanonicalHash());
+    }
+
+    @Test
+    public void incrementalHashesMatchAFreshBoard() {
+
+        Random random = new Random(5);
+        Board board = randomBoard(15, 60, random);
+
+        //place and remove keep every symmetry's hash up to date the same way play does
+        Board rebuilt = transform(board, ZobristKeys.IDENTITY);
+
+        assertEquals(board.getHash(), rebuilt.getHash());
+        assertEquals(board.getCanonicalHash(), rebuilt.getCanonicalHash());
+
+        int cell = rebuilt.nextFreeCell(0);
+        long hash = rebuilt.getHash();
+        long canonical = rebuilt.getCanonicalHash();
+
+        rebuilt.place(cell, Board.PLAYER_TWO);
+        assertNotEquals(hash, rebuilt.getHash());
+
+        rebuilt.remove(cell);
+        assertEquals(hash, rebuilt.getHash());
+        assertEquals(canonical, rebuilt.getCanonicalHash());
+    }
+}
@@ -0,0 +1,389 @@
+package game.models.io;
+
+import game.models.logic.Player;
+import game.models.model.RecentScore;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Writing and reading the binary score log, recovering from damage, and moving the old comma separated scores into it
+ */
+public class ScoreLogTest {
+
+    private Path directory; //A folder of its own for each test
+    private Path logPath; //The log in the folder
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("scorelog");
+        logPath = directory.resolve(GameIOHelper.SCORE_LOG_FILE);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+
+        GameIOHelper.setWorkingDirectory(null);
+
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator)
+                Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * Creates a score
+     * @param name1 The name of the first player
+     * @param score1 The score of the first player
+     * @param name2 The name of the second player
+     * @param score2 The score of the second player
+     * @param dimension The grid dimension
+     * @param timestamp When it was played
+     * @return the score
+     */
+    private static RecentScore score(String name1, int score1, String name2, int score2, int dimension, long timestamp) {
+
+        Player player1 = new Player(name1, null);
+        player1.setScore(score1);
+
+        Player player2 = new Player(name2, null);
+        player2.setScore(score2);
+
+        return new RecentScore(player1, player2, dimension, timestamp);
+    }
+
+    /**
+     * Checks two scores hold the same game
+     * @param expected The score that was saved
+     * @param actual The score that was read back
+     */
+    private static void assertSameScore(RecentScore expected, RecentScore actual) {
+        assertEquals(expected.getNames(), actual.getNames());
+        assertEquals(expected.getScores(), actual.getScores());
+        assertEquals(expected.getAbsDimension(), actual.getAbsDimension());
+        assertEquals(expected.getTimestamp(), actual.getTimestamp());
+    }
+
+    /**
+     * Appends scores to the log
+     * @param scores The scores to append
+     * @throws IOException if the log can't be written
+     */
+    private void append(RecentScore... scores) throws IOException {
+        try (ScoreLog log = ScoreLog.open(logPath)) {
+            for (RecentScore score : scores)
+                log.append(score);
+        }
+    }
+
+    /**
+     * Overwrites part of the log
+     * @param position Where to write
+     * @param bytes What to write
+     * @throws IOException if the log can't be written
+     */
+    private void overwrite(long position, ByteBuffer bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.WRITE)) {
+            channel.write(bytes, position);
+        }
+    }
+
+    /**
+     *
+     * @return some scores that reuse names and cover every field
+     */
+    private static RecentScore[] sampleScores() {
+        return new RecentScore[] {
+                score("Ben", 0, "Computer", 1, 3, 1_435_530_468_000L),
+                score("Amy", 4, "Computer", 2, 15, 1_600_000_000_000L),
+                score("Ben", 2, "Amy", 2, 9, 1_700_000_000_123L),
+                score("Ben", Integer.MAX_VALUE, "Computer", 0, 19, 1_700_000_000_124L)
+        };
+    }
+
+    @Test
+    public void appendedScoresReadBackInOrder() throws IOException {
+
+        RecentScore[] scores = sampleScores();
+        append(scores);
+
+        List<RecentScore> read = ScoreLogReader.open(logPath).readAll();
+
+        assertEquals(scores.length, read.size());
+
+        for (int i = 0; i < scores.length; i++)
+            assertSameScore(scores[i], read.get(i));
+
+        //Each name is stored once, the scores only refer to it
+        try (FileChannel channel = FileChannel.open(logPath)) {
+            assertEquals(Arrays.asList("Ben", "Computer", "Amy"),
+                    new ScoreLogScanner(channel).getNames());
+        }
+    }
+
+    @Test
+    public void scoresReadBackwardsAPageAtATime() throws IOException {
+
+        RecentScore[] scores = sampleScores();
+        append(scores);
+
+        //A log appended to by a second ScoreLog carries on with the same names
+        append(score("Amy", 1, "Ben", 0, 4, 1_800_000_000_000L));
+
+        ScoreLogReader reader = ScoreLogReader.open(logPath);
+        List<RecentScore> read = new ArrayList<>();
+        int end = reader.getEnd();
+        int pages = 0;
+
+        while (end > reader.getStart()) {
+            end = reader.readBackwards(end, 2, read);
+            pages++;
+        }
+
+        assertEquals(3, pages);
+        assertEquals(scores.length + 1, read.size());
+        assertEquals("Amy - Ben", read.get(0).getNames());
+
+        for (int i = 0; i < scores.length; i++)
+            assertSameScore(scores[scores.length - 1 - i], read.get(i + 1));
+    }
+
+    @Test
+    public void tornLastRecordIsDroppedThenOverwritten() throws IOException {
+
+        RecentScore[] scores = sampleScores();
+        append(scores);
+
+        long size = Files.size(logPath);
+
+        //A crash part way through writing the last score
+        try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 5);
+        }
+
+        List<RecentScore> read = ScoreLogReader.open(logPath).readAll();
+        assertEquals(scores.length - 1, read.size());
+
+        List<RecentScore> newest = new ArrayList<>();
+        ScoreLogReader reader = ScoreLogReader.open(logPath);
+        reader.readBackwards(reader.getEnd(), 1, newest);
+        assertSameScore(scores[scores.length - 2], newest.get(0));
+
+        RecentScore replacement = score("Zed", 1, "Computer", 0, 5, 1_900_000_000_000L);
+        append(replacement);
+
+        read = ScoreLogReader.open(logPath).readAll();
+
+        assertEquals(scores.length, read.size());
+        assertSameScore(replacement, read.get(scores.length - 1));
+
+        //The torn record was cut off before the new one was written, so the log grew by the new name alone
+        int nameBytes = "Zed".getBytes(StandardCharsets.UTF_8).length + 5 + ScoreLog.RECORD_OVERHEAD;
+        assertEquals(size + nameBytes, Files.size(logPath));
+    }
+
+    @Test
+    public void badChecksumStopsReadingAtTheDamage() throws IOException {
+
+        RecentScore[] scores = sampleScores();
+        append(scores);
+
+        //Flips the grid dimension byte of the last score, the checksum no longer matches
+        long size = Files.size(logPath);
+        overwrite(size - 9, ByteBuffer.wrap(new byte[] {99}));
+
+        List<RecentScore> read = ScoreLogReader.open(logPath).readAll();
+        assertEquals(scores.length - 1, read.size());
+
+        for (int i = 0; i < read.size(); i++)
+            assertSameScore(scores[i], read.get(i));
+
+        //The damaged record is cut off when the log is next appended to
+        append(score("Ben", 1, "Computer", 1, 3, 2_000_000_000_000L));
+        assertEquals(scores.length, ScoreLogReader.open(logPath).readAll().size());
+        assertEquals(size, Files.size(logPath));
+    }
+
+    @Test
+    public void badLengthStopsReadingAtTheDamage() throws IOException {
+
+        RecentScore[] scores = sampleScores();
+        append(scores);
+
+        long size = Files.size(logPath);
+        ByteBuffer huge = ByteBuffer.allocate(4).putInt(Integer.MAX_VALUE);
+        huge.flip();
+
+        //The trailing length of the last score, reading backwards can't find the record it belongs to
+        overwrite(size - 4, huge);
+
+        assertEquals(scores.length - 1, ScoreLogReader.open(logPath).readAll().size());
+
+        ScoreLogReader reader = ScoreLogReader.open(logPath);
+        List<RecentScore> read = new ArrayList<>();
+        reader.readBackwards(reader.getEnd(), 10, read);
+
+        assertEquals(scores.length - 1, read.size());
+        assertSameScore(scores[scores.length - 2], read.get(0));
+
+        //A leading length that runs past the end of the file hides every record from there on. Appending cut off
+        //the damaged score, so the first of the new ones starts where it did
+        append(scores);
+        huge.rewind();
+        overwrite(size - ScoreLog.SCORE_PAYLOAD_BYTES - ScoreLog.RECORD_OVERHEAD, huge);
+
+        assertEquals(scores.length - 1, ScoreLogReader.open(logPath).readAll().size());
+    }
+
+    @Test
+    public void namesWithCommasAndAccentsRoundTrip() throws IOException {
+
+        RecentScore score = score("Smith, John", 3, "Zoë \"the, best\"", 1, 3, 1_234_567_890_000L);
+        append(score);
+
+        List<RecentScore> read = ScoreLogReader.open(logPath).readAll();
+
+        assertEquals(1, read.size());
+        assertEquals("Smith, John", read.get(0).getPlayer1().getName());
+        assertEquals("Zoë \"the, best\"", read.get(0).getPlayer2().getName());
+        assertSameScore(score, read.get(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nameTooLongForARecordIsRefused() throws IOException {
+
+        char[] name = new char[ScoreLog.MAX_PAYLOAD_BYTES];
+        Arrays.fill(name, 'a');
+
+        append(score(new String(name), 0, "Computer", 0, 3, 0));
+    }
+
+    @Test
+    public void scoreWithTwoNewLongestNamesIsAppended() throws IOException {
+
+        char[] name = new char[ScoreLog.MAX_PAYLOAD_BYTES - 5];
+        Arrays.fill(name, 'a');
+        String name1 = new String(name);
+
+        Arrays.fill(name, 'b');
+        String name2 = new String(name);
+
+        RecentScore score = score(name1, 1, name2, 2, 3, 1_234_567_890_000L);
+        append(score);
+
+        List<RecentScore> read = ScoreLogReader.open(logPath).readAll();
+
+        assertEquals(1, read.size());
+        assertSameScore(score, read.get(0));
+    }
+
+    @Test
+    public void namesAreFoundThroughoutALongLog() throws IOException {
+
+        //Far longer than what appending reads of the log at a time, with new names all the way through it
+        List<RecentScore> scores = new ArrayList<>();
+
+        for (int i = 0; i < 5000; i++)
+            scores.add(score("Player " + i / 100, i, "Computer", 0, 3, i));
+
+        append(scores.toArray(new RecentScore[0]));
+
+        long size = Files.size(logPath);
+
+        //Names already in the log aren't stored again
+        append(score("Player 49", 0, "Player 0", 0, 3, 5000));
+        assertEquals(size + ScoreLog.SCORE_PAYLOAD_BYTES + ScoreLog.RECORD_OVERHEAD, Files.size(logPath));
+
+        //Nor are they when a torn last record means every record is checked
+        try (FileChannel channel = FileChannel.open(logPath, StandardOpenOption.WRITE)) {
+            channel.truncate(size + 5);
+        }
+
+        append(score("Player 25", 0, "Computer", 0, 3, 5001));
+        assertEquals(size + ScoreLog.SCORE_PAYLOAD_BYTES + ScoreLog.RECORD_OVERHEAD, Files.size(logPath));
+        assertEquals(scores.size() + 1, ScoreLogReader.open(logPath).readAll().size());
+    }
+
+    @Test
+    public void newerVersionIsRejected() throws IOException {
+
+        append(sampleScores());
+
+        ByteBuffer version = ByteBuffer.allocate(2).putShort((short) (ScoreLog.VERSION + 1));
+        version.flip();
+        overwrite(4, version);
+
+        try {
+            ScoreLogReader.open(logPath);
+            fail("A log from a newer version was read");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("newer version"));
+        }
+
+        //It mustn't be appended to, or cut short, either
+        long size = Files.size(logPath);
+
+        try {
+            ScoreLog.open(logPath).close();
+            fail("A log from a newer version was opened to append to");
+        } catch (IOException e) {
+            assertEquals(size, Files.size(logPath));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void fileThatIsntALogIsRejected() throws IOException {
+        Files.write(logPath, "Ben,0,Computer,1,3,2015/06/28 23:27:48\n".getBytes(StandardCharsets.UTF_8));
+        ScoreLogReader.open(logPath);
+    }
+
+    @Test
+    public void legacyScoresAreMigratedSkippingMalformedLines() throws IOException {
+
+        Path legacyPath = directory.resolve(GameIOHelper.LEGACY_SCORES_FILE);
+
+        Files.write(legacyPath, Arrays.asList(
+                "Ben,0,Computer,1,3,2015/06/28 23:27:48",
+                "not a score",
+                "Amy,two,Computer,1,3,2015/06/28 23:30:00",
+                "Amy,2,Computer,1,3",
+                "Amy,2,Computer,1,3,28/06/2015",
+                "",
+                "Amy,2,Computer,1,3,2015/06/29 10:00:00,extra",
+                "Amy,2,Computer,0,4,2015/06/29 10:05:00"), StandardCharsets.UTF_8);
+
+        GameIOHelper.setWorkingDirectory(directory);
+        List<RecentScore> scores = GameIOHelper.loadRecentScores();
+
+        assertEquals(2, scores.size());
+        assertEquals("Ben - Computer", scores.get(0).getNames());
+        assertEquals("0 - 1", scores.get(0).getScores());
+        assertEquals("2015/06/28 23:27:48", scores.get(0).getDate());
+        assertEquals("Amy - Computer", scores.get(1).getNames());
+        assertEquals(4, scores.get(1).getAbsDimension());
+
+        //The old file is kept, renamed, and the log is complete with no temporary file left behind
+        assertTrue(Files.exists(logPath));
+        assertFalse(Files.exists(legacyPath));
+        assertTrue(Files.exists(directory.resolve(GameIOHelper.LEGACY_SCORES_FILE + ".migrated")));
+        assertFalse(Files.exists(directory.resolve(GameIOHelper.SCORE_LOG_FILE + ".tmp")));
+
+        //Later loads read the log, the old file isn't migrated twice
+        assertEquals(2, GameIOHelper.loadRecentScores().size());
+    }
+}
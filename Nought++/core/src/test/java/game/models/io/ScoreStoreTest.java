@@ -0,0 +1,149 @@
+package game.models.io;
+
+import game.models.logic.Player;
+import game.models.model.RecentScore;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Sorting and filtering the scores of a log through the indexes of a ScoreStore
+ */
+public class ScoreStoreTest {
+
+    private Path logPath; //A log of its own for each test
+
+    @Before
+    public void setUp() throws IOException {
+        logPath = Files.createTempFile("scorestore", ".log");
+        Files.delete(logPath);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(logPath);
+    }
+
+    /**
+     * Creates a score, the first player's score tells the scores apart
+     * @param name1 The name of the first player
+     * @param name2 The name of the second player
+     * @param dimension The grid dimension
+     * @param timestamp When it was played
+     * @param tag The score of the first player
+     * @return the score
+     */
+    private static RecentScore score(String name1, String name2, int dimension, long timestamp, int tag) {
+
+        Player player1 = new Player(name1, null);
+        player1.setScore(tag);
+
+        return new RecentScore(player1, new Player(name2, null), dimension, timestamp);
+    }
+
+    /**
+     * Saves scores to the log and indexes it
+     * @param scores The scores, in the order they were saved
+     * @return the store
+     * @throws IOException if the log can't be written or read
+     */
+    private ScoreStore store(RecentScore... scores) throws IOException {
+
+        try (ScoreLog log = ScoreLog.open(logPath)) {
+            for (RecentScore score : scores)
+                log.append(score);
+        }
+
+        return new ScoreStore(ScoreLogReader.open(logPath));
+    }
+
+    /**
+     *
+     * @param scores Some scores
+     * @return the first player's score of each, which tells them apart
+     */
+    private static List<Integer> tags(List<RecentScore> scores) {
+
+        List<Integer> tags = new ArrayList<>();
+
+        for (RecentScore score : scores)
+            tags.add(score.getPlayer1().getScore());
+
+        return tags;
+    }
+
+    @Test
+    public void scoresAreSortedByTimestampEvenWhenTheClockWentBack() throws IOException {
+
+        ScoreStore store = store(
+                score("Ben", "Computer", 3, 100, 0),
+                score("Amy", "Computer", 3, 300, 1),
+                score("Ben", "Amy", 5, 200, 2),
+                score("Amy", "Computer", 3, 300, 3),
+                score("Ben", "Computer", 5, 50, 4));
+
+        assertEquals(5, store.size());
+        assertEquals(Arrays.asList(4, 0, 2, 1, 3), tags(store.find(null, ScoreStore.ANY_DIMENSION, false, 0, 10)));
+        assertEquals(Arrays.asList(3, 1, 2, 0, 4), tags(store.find(null, ScoreStore.ANY_DIMENSION, true, 0, 10)));
+
+        //Pages carry on from the offset
+        assertEquals(Arrays.asList(2, 1), tags(store.find(null, ScoreStore.ANY_DIMENSION, false, 2, 2)));
+        assertEquals(Arrays.asList(1, 3), tags(store.findBetween(201, 301, null, ScoreStore.ANY_DIMENSION, false, 0, 10)));
+    }
+
+    @Test
+    public void filtersPickThePlayerAndDimension() throws IOException {
+
+        ScoreStore store = store(
+                score("Ben", "Computer", 3, 100, 0),
+                score("Amy", "Computer", 3, 200, 1),
+                score("Ben", "Amy", 5, 300, 2),
+                score("Amy", "Amy", 5, 400, 3),
+                score("Ben", "Computer", 5, 500, 4));
+
+        assertEquals(Arrays.asList("Amy", "Ben", "Computer"), store.getPlayers());
+        assertEquals(Arrays.asList(3, 5), store.getDimensions());
+
+        //Someone playing themselves is only found once
+        assertEquals(Arrays.asList(3, 2, 1), tags(store.find("Amy", ScoreStore.ANY_DIMENSION, true, 0, 10)));
+        assertEquals(Arrays.asList(2, 4), tags(store.find("Ben", 5, false, 0, 10)));
+        assertEquals(Arrays.asList(2, 3, 4), tags(store.find(null, 5, false, 0, 10)));
+        assertEquals(Arrays.asList(4, 2), tags(store.getLastGames("Ben", 2)));
+
+        assertEquals(3, store.count("Amy", ScoreStore.ANY_DIMENSION));
+        assertEquals(0, store.count("Nobody", ScoreStore.ANY_DIMENSION));
+        assertEquals(1, store.count("Computer", 5));
+        assertTrue(store.find("Computer", 7, true, 0, 10).isEmpty());
+    }
+
+    @Test
+    public void scoresAreReadBackFromTheLog() throws IOException {
+
+        RecentScore saved = score("Smith, John", "Computer", 9, 1_700_000_000_000L, 7);
+        List<RecentScore> found = store(saved).find("Smith, John", 9, true, 0, 1);
+
+        assertEquals(1, found.size());
+        assertEquals(saved.getNames(), found.get(0).getNames());
+        assertEquals(saved.getScores(), found.get(0).getScores());
+        assertEquals(saved.getTimestamp(), found.get(0).getTimestamp());
+    }
+
+    @Test
+    public void noLogIsAnEmptyStore() {
+
+        ScoreStore store = new ScoreStore(null);
+
+        assertEquals(0, store.size());
+        assertTrue(store.find(null, ScoreStore.ANY_DIMENSION, true, 0, 10).isEmpty());
+        assertTrue(store.getPlayers().isEmpty());
+    }
+}
@@ -1,5 +1,6 @@
 package game.controllers;
 
+import game.models.ai.AiExecutor;
 import game.models.io.GameIOHelper;
 import game.models.logic.ComputerPlayer;
 import game.models.logic.GridPaneLogic;
@@ -7,6 +8,7 @@ import game.models.logic.MenuAnimation;
 import game.models.logic.Player;
 import game.models.misc.AlertBox;
 import game.models.misc.ButtonResult;
+import game.models.misc.ImageCache;
 import game.models.model.*;
 import javafx.application.Platform;
 import javafx.event.ActionEvent;
@@ -29,9 +31,13 @@ import java.net.URI;
 import java.net.URL;
 import java.util.Random;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
 
 public class GameController implements Initializable {
 
+    //Searches for the computer's moves off the JavaFX thread, one thread is reused by every game
+    private static final AiExecutor AI_EXECUTOR = new AiExecutor("Computer player");
+
     @FXML
     private GridPane gameGrid;
     @FXML
@@ -47,6 +53,7 @@ public class GameController implements Initializable {
     private GridPaneLogic gridLogic;
     private MediaPlayer gameWonSound;
     private boolean gamePaused;
+    private CompletableFuture<Coordinate> computerMove; //The computer's move being searched for, null if it isn't searching
 
     public void initialize(URL location, ResourceBundle resources) {
 
@@ -63,8 +70,8 @@ public class GameController implements Initializable {
         lblPlayer1.setText(player1.getName());
         lblPlayer2.setText(computer.getName());
 
-        imgPlayer1.setImage(player1.getImage());
-        imgPlayer2.setImage(computer.getImage());
+        imgPlayer1.setImage(ImageCache.get(player1.getImageUrl()));
+        imgPlayer2.setImage(ImageCache.get(computer.getImageUrl()));
 
         //The sound to play when a player has won the game
         Media media = new Media(getClass().getResource("/game/resources/game_won.mp3").toString());
@@ -77,7 +84,10 @@ public class GameController implements Initializable {
             restartGame();
 
             //Saves game scores if player the closes window
-            gameGrid.getScene().getWindow().setOnCloseRequest(e -> saveGameScores());
+            gameGrid.getScene().getWindow().setOnCloseRequest(e -> {
+                cancelComputerTurn();
+                saveGameScores();
+            });
         });
     }
 
@@ -107,8 +117,9 @@ public class GameController implements Initializable {
             return;
         }
 
+        //The search was cancelled when the game was paused, so the computer searches again
         if (nextPlayersTurn == computer)
-            computerPlayLastMove();
+            computerPlayTurn();
         else
             updateLabelDisplay(); //Show the non computer player its their turn
     }
@@ -116,6 +127,8 @@ public class GameController implements Initializable {
     private void pauseGame() {
         gamePaused = true;
 
+        cancelComputerTurn();
+
         gridLogic.pauseGrid();
 
         lblWhoseTurn.setText("Game paused...");
@@ -146,6 +159,8 @@ public class GameController implements Initializable {
         if (gamePaused)
             return;
 
+        cancelComputerTurn();
+
         //Removes the old buttons and re-initializes new buttons
         gridLogic.initializeButtons(this::cellButtons_onAction);
 
@@ -175,7 +190,7 @@ public class GameController implements Initializable {
 
             //Associate a player with a button. This also changes the image of the button to the image of the player
             //go to the setAttachedPlayer method to see how that operates
-            btn.setAttachedPlayer(currentPlayer);
+            gridLogic.setCellOwner(btn, currentPlayer);
 
             //Alternates the players turn
             nextPlayersTurn = (currentPlayer == player1) ? computer : player1;
@@ -183,7 +198,7 @@ public class GameController implements Initializable {
             //Checks if the gameLogic has been won or not. If won it returns a tuple containing information
             //Such as winning player and the coordinates of the buttons that have won
 
-            GameState gameCheck = gridLogic.checkGameState();
+            GameState gameCheck = gridLogic.checkGameState(btn.getCoordinate());
             Player winningPlayer = gameCheck.getWinningPlayer();
 
             switch (gameCheck.getGameStatus()) {
@@ -223,11 +238,11 @@ public class GameController implements Initializable {
                 case GAME_ONGOING:
 
                     //Means no one has won and the game is still ongoing
+                    updateLabelDisplay();
+
                     if (nextPlayersTurn == computer)
                         computerPlayTurn();
 
-                    updateLabelDisplay();
-
                     break;
             }
         }
@@ -235,62 +250,66 @@ public class GameController implements Initializable {
 
     private void computerPlayTurn() {
 
-        Runnable r = () -> {
-            //To prevent a user from clicking a button whilst it's the computers move
-            gridLogic.removeAllNodesActionEvent();
+        cancelComputerTurn();
 
-            Platform.runLater(() -> lblWhoseTurn.setText("Computer is thinking ...."));
-            Coordinate coords = computer.getNextMove();
+        //To prevent a user from clicking a button whilst it's the computers move
+        gridLogic.removeAllNodesActionEvent();
 
-            //Computer appears to be thinking to give it a more realistic feel
-            int sleepAmount = (new Random().nextInt(6) + 1)  * 100;
+        lblWhoseTurn.setText("Computer is thinking ....");
 
-            try {
-                Thread.sleep(sleepAmount);
-            } catch (InterruptedException ignored) { }
+        //The computer spends its thinking time searching, so there's no need to fake it
+        CompletableFuture<Coordinate> move = computer.requestNextMove(AI_EXECUTOR);
+        computerMove = move;
 
-            //Retrieves reference to the button it wishes to click via it's coordinates
-            CellButton cellBtn = gridLogic.getCellButtonAt(coords);
+        move.whenComplete((coords, error) -> Platform.runLater(() -> {
 
-            Platform.runLater(() -> {
-                //Re-adds the action event for all the buttons
-                gridLogic.setAllNodesActionEvent(this::cellButtons_onAction);
+            //A search that has been cancelled or replaced since must not click
+            if (computerMove != move)
+                return;
 
-                //Clicks the button it has picked
-                //It's never gonna be null but this is just to stop the compiler from complaining
-                if (cellBtn != null)
-                    cellBtn.fireEvent(new ActionEvent());
-            });
-        };
-
-        new Thread(r).start();
-    }
+            computerMove = null;
 
-    private void computerPlayLastMove()   {
+            if (error != null) {
+                error.printStackTrace();
+                AlertBox.show("Oops! Seems like the computer has died! Report this bug.");
 
-        //If the game is paused && it's the computers turn
-        //then the computer still has a record of it's last move. When unpaused the computer plays that turn again
-        Runnable r = () -> {
+                //The computer can't carry on the round, so it's ended rather than leaving the board unclickable
+                gridLogic.disableAllNodes();
+                promptNewGame();
 
-            try {
+                return;
+            }
 
-                Platform.runLater(() -> lblWhoseTurn.setText("Computer is thinking ...."));
+            //Re-adds the action event for all the buttons
+            gridLogic.setAllNodesActionEvent(this::cellButtons_onAction);
 
-                Thread.sleep(200);
+            //Retrieves reference to the button it wishes to click via it's coordinates
+            CellButton cellBtn = gridLogic.getCellButtonAt(coords);
 
-                Coordinate coords = computer.getLastMove();
+            //Clicks the button it has picked
+            //It's never gonna be null but this is just to stop the compiler from complaining
+            if (cellBtn != null)
+                cellBtn.fireEvent(new ActionEvent());
+        }));
+    }
 
-                CellButton btn = gridLogic.getCellButtonAt(coords);
+    /**
+     * Stops the computer searching for its move, the move it was searching for is never played
+     */
+    private void cancelComputerTurn() {
 
-                if (btn != null)
-                    Platform.runLater(() -> btn.fireEvent(new ActionEvent()));
+        CompletableFuture<Coordinate> move = computerMove;
+        computerMove = null;
 
-            } catch (InterruptedException e) {
-                AlertBox.show("Oops! Seems like the computer has died! Report this bug.");
-            }
-        };
+        if (move != null)
+            move.cancel(false);
+    }
 
-        new Thread(r).start();
+    /**
+     * Stops the thread the computer searches on, called when the application exits
+     */
+    public static void shutdownComputerPlayer() {
+        AI_EXECUTOR.shutdown();
     }
 
     @FXML
@@ -302,6 +321,8 @@ public class GameController implements Initializable {
     @FXML
     private void lblHome_onMouseClicked(MouseEvent event) throws Exception {
 
+        cancelComputerTurn();
+
         //Saves scores
         saveGameScores();
 
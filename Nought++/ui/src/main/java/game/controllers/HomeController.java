@@ -3,6 +3,7 @@ package game.controllers;
 import game.models.logic.Player;
 import game.models.misc.AlertBox;
 import game.models.misc.ButtonResult;
+import game.models.misc.ImageCache;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -33,6 +34,8 @@ import java.util.regex.Pattern;
 
 public class HomeController implements Initializable {
 
+    public static final String DEFAULT_PLAYER_IMAGE = "/game/resources/chicken-icon.png";
+
     @FXML
     private TextField txtPlayerName;
     @FXML
@@ -48,6 +51,8 @@ public class HomeController implements Initializable {
     private static int dimension = 3;
     private static Stage thisStage;
 
+    private String playerImageUrl = DEFAULT_PLAYER_IMAGE; //The url of the image shown in imgViewPlayer
+
     @Override
     public void initialize(URL location, ResourceBundle resources) {
 
@@ -79,7 +84,7 @@ public class HomeController implements Initializable {
         MenuItem itemImgChange = new MenuItem("Change Image", imgViewChange);
         MenuItem itemImgReset = new MenuItem("Reset Image", imgViewReset);
 
-        itemImgReset.setOnAction(e -> imgViewPlayer.setImage(new Image("/game/resources/chicken-icon.png")));
+        itemImgReset.setOnAction(e -> setPlayerImage(DEFAULT_PLAYER_IMAGE));
         itemImgChange.setOnAction(e -> promptImageChange());
 
         contextMenu.getItems().addAll(itemImgChange, itemImgReset);
@@ -105,15 +110,25 @@ public class HomeController implements Initializable {
         File file = fileChooser.showOpenDialog(imgViewPlayer.getScene().getWindow());
 
         if (file != null) {
-            Image img  = new Image("file:" + file.getPath());
+            String url = "file:" + file.getPath();
+            Image img  = ImageCache.get(url);
 
             if (img.getHeight() > 128 || img.getWidth() > 128)
                 AlertBox.show("Images larger than 128 x 128 are not allowed");
             else
-                imgViewPlayer.setImage(img);
+                setPlayerImage(url);
         }
     }
 
+    /**
+     * Shows an image as the players image
+     * @param url The url of the image
+     */
+    private void setPlayerImage(String url) {
+        playerImageUrl = url;
+        imgViewPlayer.setImage(ImageCache.get(url));
+    }
+
     /**
      * The action that happens when the user clicks the about label
      * @param event
@@ -174,7 +189,7 @@ public class HomeController implements Initializable {
         }
 
         //If validation has been passed then initialize the Player object and load game scene
-        player1 = new Player(txtPlayerName.getText().trim(), imgViewPlayer.getImage());
+        player1 = new Player(txtPlayerName.getText().trim(), playerImageUrl);
         loadGameScene();
     }
 
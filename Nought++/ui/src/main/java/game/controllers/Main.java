@@ -1,6 +1,9 @@
 package game.controllers;
 
+import game.models.io.GameIOHelper;
+import game.models.misc.AlertBox;
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
@@ -13,6 +16,12 @@ public class Main extends Application {
     public void start(Stage primaryStage) throws Exception{
         Parent root = FXMLLoader.load(getClass().getResource("/game/views/sceneHome.fxml"));
 
+        //Scores are saved in the background, the player is told on the FX thread if they couldn't be
+        GameIOHelper.setSaveFailureListener((error, lostCount) -> Platform.runLater(() -> {
+            AlertBox.show("Error trying to save game data - Press okay to see error");
+            AlertBox.show(error.getMessage());
+        }));
+
         primaryStage.setResizable(false);
         primaryStage.setScene(new Scene(root));
         primaryStage.getIcons().add(new Image("/game/resources/Spaceship.png"));
@@ -23,6 +32,14 @@ public class Main extends Application {
         primaryStage.toFront();
     }
 
+    @Override
+    public void stop() {
+        GameController.shutdownComputerPlayer();
+
+        //Saves any scores still waiting to be written
+        GameIOHelper.closeScoreWriter();
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
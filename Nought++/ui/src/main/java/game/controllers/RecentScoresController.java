@@ -0,0 +1,396 @@
+package game.controllers;
+
+import game.models.misc.AlertBox;
+import game.models.io.GameIOHelper;
+import game.models.io.ScorePager;
+import game.models.io.ScoreStore;
+import game.models.model.RecentScore;
+import javafx.application.Platform;
+import javafx.event.ActionEvent;
+import javafx.event.Event;
+import javafx.fxml.FXML;
+import javafx.fxml.Initializable;
+import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableRow;
+import javafx.scene.control.TableView;
+import javafx.scene.control.cell.PropertyValueFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.List;
+import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+public class RecentScoresController implements Initializable {
+
+    private static final int PAGE_AHEAD = 20; //The next page is read once a row this close to the last one is shown
+    private static final String ALL_PLAYERS = "All players", ALL_DIMENSIONS = "All sizes";
+
+    //Reads the scores off the JavaFX thread so the window opens straight away however many have been saved
+    private static final ExecutorService SCORE_LOADER = newLoader("Score loader");
+
+    //Indexes the scores for sorting and filtering, on a thread of its own so pages aren't read after it
+    private static final ExecutorService SCORE_INDEXER = newLoader("Score indexer");
+
+    @FXML
+    private Button btnReset;
+    @FXML
+    private ComboBox<String> cmbPlayer, cmbDimension;
+    @FXML
+    private TableColumn<RecentScore, String> tblScores, tblNames, tblDate, tblSize;
+    @FXML
+    private TableView<RecentScore> tableScores;
+
+    private ScorePager pager; //Reads the pages, newest first, until the scores are sorted or filtered
+    private ScoreStore store; //Indexes the scores for sorting and filtering, only built once either is asked for
+    private List<Integer> dimensions; //The dimensions listed in cmbDimension after ALL_DIMENSIONS
+    private boolean oldestFirst; //Whether the date column has been sorted oldest first
+    private int loadCount; //Counts the loads, a page read for an earlier one is thrown away
+    private int viewCount; //Counts the changes of sort order and filters, rows found for an earlier one are thrown away
+    private boolean loading; //Whether the pager is being opened, or a page read from it or the store
+    private boolean indexing; //Whether the store is being built
+
+    @Override
+    public void initialize(URL location, ResourceBundle resources) {
+
+        //Initializing the columns first
+        tblScores.setCellValueFactory(new PropertyValueFactory<>("scores"));
+        tblNames.setCellValueFactory(new PropertyValueFactory<>("names"));
+        tblDate.setCellValueFactory(new PropertyValueFactory<>("date"));
+        tblSize.setCellValueFactory(new PropertyValueFactory<>("FormatDimension"));
+
+        //Only some of the scores are in the table, so sorting asks the store for them in order by timestamp
+        tableScores.setSortPolicy(table -> {
+            boolean ascending = table.getSortOrder().contains(tblDate)
+                    && tblDate.getSortType() == TableColumn.SortType.ASCENDING;
+
+            if (ascending != oldestFirst) {
+                oldestFirst = ascending;
+                showScores();
+            }
+
+            return true;
+        });
+
+        //Scrolling near the bottom of the table reads the next page
+        tableScores.setRowFactory(table -> new TableRow<RecentScore>() {
+            @Override
+            protected void updateItem(RecentScore item, boolean empty) {
+                super.updateItem(item, empty);
+
+                if (!empty && getIndex() >= getTableView().getItems().size() - PAGE_AHEAD)
+                    loadNextPage();
+            }
+        });
+
+        //The players and sizes are only known once the store has been built
+        cmbPlayer.setPlaceholder(new Label("Loading players..."));
+        cmbDimension.setPlaceholder(new Label("Loading sizes..."));
+
+        loadScores();
+    }
+
+    /**
+     *
+     * @param name The name of the thread
+     * @return an executor with a single daemon thread, so it doesn't keep the game running once it's closed
+     */
+    private static ExecutorService newLoader(String name) {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Loads the recent scores of the user and displays them in a table view, newest first.
+     * Only the pages scrolled to are read, the store is left until the scores are sorted or filtered
+     */
+    private void loadScores() {
+
+        int load = ++loadCount;
+
+        pager = null;
+        store = null;
+        loading = true;
+        indexing = false;
+        tableScores.setPlaceholder(new Label("Loading scores..."));
+
+        runInBackground(SCORE_LOADER, load, GameIOHelper::openRecentScores, opened -> {
+            loading = false;
+            tableScores.setPlaceholder(null);
+
+            pager = opened;
+            cmbPlayer.setDisable(false);
+            cmbDimension.setDisable(false);
+
+            loadNextPage();
+        });
+    }
+
+    /**
+     * Builds the store in the background, the table carries on reading pages meanwhile
+     */
+    private void loadStore() {
+
+        if (store != null || indexing)
+            return;
+
+        indexing = true;
+
+        runInBackground(SCORE_INDEXER, loadCount, GameIOHelper::loadScoreStore, loaded -> {
+
+            //The filters are filled in before the store is used, so picking the first ones doesn't show the scores
+            dimensions = loaded.getDimensions();
+
+            cmbPlayer.getItems().setAll(ALL_PLAYERS);
+            cmbPlayer.getItems().addAll(loaded.getPlayers());
+            cmbPlayer.getSelectionModel().selectFirst();
+
+            cmbDimension.getItems().setAll(ALL_DIMENSIONS);
+
+            for (int dimension : dimensions)
+                cmbDimension.getItems().add(String.format("%dx%d", dimension, dimension));
+
+            cmbDimension.getSelectionModel().selectFirst();
+
+            store = loaded;
+            pager = null;
+            indexing = false;
+
+            //Sorted while the store was being built
+            if (oldestFirst) {
+                showScores();
+                return;
+            }
+
+            //Carries on from as far as the table has been scrolled, a page still being read by the pager is dropped
+            findInBackground(0, Math.max(tableScores.getItems().size(), ScorePager.DEFAULT_PAGE_SIZE),
+                    rows -> tableScores.getItems().setAll(rows));
+        });
+    }
+
+    /**
+     * Finds rows in the store in the background, as reading them reads the log, and hands them to the JavaFX thread
+     * unless the sort order or filters have changed since
+     * @param offset The amount of matching scores to skip
+     * @param count The most rows to find
+     * @param consumer Shows the rows on the JavaFX thread
+     */
+    private void findInBackground(int offset, int count, Consumer<List<RecentScore>> consumer) {
+
+        ScoreStore searching = store;
+        String player = getPlayerFilter();
+        int dimension = getDimensionFilter();
+        boolean newestFirst = !oldestFirst;
+        int view = viewCount;
+
+        loading = true;
+
+        runInBackground(SCORE_LOADER, loadCount, () -> searching.find(player, dimension, newestFirst, offset, count),
+                rows -> {
+                    //The rows of the newer sort order or filters are on their way
+                    if (view != viewCount)
+                        return;
+
+                    loading = false;
+                    consumer.accept(rows);
+                });
+    }
+
+    /**
+     * Reads the scores in the background and hands them to the JavaFX thread
+     * @param executor The thread to read them on
+     * @param load The load the scores are for, they're thrown away if the scores have been reset since
+     * @param reader Reads the scores
+     * @param consumer Shows the scores on the JavaFX thread
+     * @param <T> What the scores are read into
+     */
+    private <T> void runInBackground(Executor executor, int load, IOSupplier<T> reader, Consumer<T> consumer) {
+
+        Supplier<T> task = () -> {
+            try {
+                return reader.get();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+
+        CompletableFuture.supplyAsync(task, executor).whenComplete((result, error) -> Platform.runLater(() -> {
+
+            //The scores have been reset since they were asked for
+            if (load != loadCount)
+                return;
+
+            if (error != null) {
+                //The other reads of this load would fail the same way, so they're thrown away
+                loadCount++;
+                loading = false;
+                indexing = false;
+                tableScores.setPlaceholder(null);
+                showError(error);
+                return;
+            }
+
+            consumer.accept(result);
+        }));
+    }
+
+    /**
+     * Adds the next page of scores to the bottom of the table, read in the background from the pager until the store
+     * has been built and from the store afterwards
+     */
+    private void loadNextPage() {
+
+        if (loading)
+            return;
+
+        if (store != null) {
+
+            if (tableScores.getItems().size() >= store.count(getPlayerFilter(), getDimensionFilter()))
+                return;
+
+            //Rows are being laid out when this is called, the table is added to once the page has been read
+            findInBackground(tableScores.getItems().size(), ScorePager.DEFAULT_PAGE_SIZE,
+                    page -> tableScores.getItems().addAll(page));
+
+            return;
+        }
+
+        if (pager == null || !pager.hasMore())
+            return;
+
+        ScorePager reading = pager;
+
+        loading = true;
+
+        runInBackground(SCORE_LOADER, loadCount, () -> reading.nextPage(ScorePager.DEFAULT_PAGE_SIZE), page -> {
+
+            //The store took over while the page was being read
+            if (reading != pager)
+                return;
+
+            loading = false;
+            tableScores.getItems().addAll(page);
+        });
+    }
+
+    /**
+     * Shows the first page of the scores that match the filters, in the order the date column is sorted in.
+     * The pager only reads newest first, so sorting the other way builds the store first
+     */
+    private void showScores() {
+
+        if (store == null) {
+
+            //The filters can't be picked until the store has been built, only the sort order can change before it
+            if (oldestFirst)
+                loadStore();
+
+            return;
+        }
+
+        viewCount++;
+
+        findInBackground(0, ScorePager.DEFAULT_PAGE_SIZE, rows -> {
+            tableScores.getItems().setAll(rows);
+            tableScores.scrollTo(0);
+        });
+    }
+
+    /**
+     *
+     * @return the player picked in cmbPlayer, null for all of them
+     */
+    private String getPlayerFilter() {
+        int index = cmbPlayer.getSelectionModel().getSelectedIndex();
+        return index > 0 ? cmbPlayer.getItems().get(index) : null;
+    }
+
+    /**
+     *
+     * @return the dimension picked in cmbDimension, ScoreStore.ANY_DIMENSION for all of them
+     */
+    private int getDimensionFilter() {
+        int index = cmbDimension.getSelectionModel().getSelectedIndex();
+        return index > 0 ? dimensions.get(index - 1) : ScoreStore.ANY_DIMENSION;
+    }
+
+    /**
+     * Shows why the scores couldn't be read
+     * @param error The error thrown while reading them
+     */
+    private void showError(Throwable error) {
+
+        //Unwraps the CompletionException and UncheckedIOException around the cause
+        while (error.getCause() != null)
+            error = error.getCause();
+
+        AlertBox.show("Error @ " + error.getMessage());
+    }
+
+    /**
+     * Builds the store when a filter is opened, the players and sizes to pick from are filled in once it's built
+     * @param event
+     */
+    @FXML
+    private void cmbFilter_onShowing(Event event) {
+        loadStore();
+    }
+
+    /**
+     * Shows the scores that match the filters when a filter is picked
+     * @param event
+     */
+    @FXML
+    private void cmbFilter_onAction(ActionEvent event) {
+        showScores();
+    }
+
+    /**
+     * Resets and deletes the users recent scores when the reset button is clicked
+     * @param event
+     */
+    @FXML
+    private void btnReset_onAction(ActionEvent event) {
+        try {
+            //Any page still being read is of the scores being deleted
+            loadCount++;
+            loading = false;
+            indexing = false;
+            pager = null;
+            store = null;
+
+            GameIOHelper.deleteRecentScores();
+            tableScores.getItems().clear();
+            tableScores.setPlaceholder(null);
+
+            cmbPlayer.getItems().clear();
+            cmbDimension.getItems().clear();
+            cmbPlayer.setDisable(true);
+            cmbDimension.setDisable(true);
+
+            AlertBox.show("All scores have been reset");
+        } catch (IOException e) {
+            AlertBox.show(e.getMessage());
+        }
+    }
+
+    /**
+     * Reads scores from the file
+     * @param <T> What the scores are read into
+     */
+    private interface IOSupplier<T> {
+        T get() throws IOException;
+    }
+}
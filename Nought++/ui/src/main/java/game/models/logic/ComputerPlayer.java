@@ -0,0 +1,121 @@
+package game.models.logic;
+
+import game.models.ai.AiExecutor;
+import game.models.ai.MoveResult;
+import game.models.ai.MoveStrategy;
+import game.models.ai.StrategyRegistry;
+import game.models.engine.Board;
+import game.models.engine.BoardSnapshot;
+import game.models.model.Coordinate;
+
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+/***
+ * This is the brain of the computer. The computer extends player.
+ * The move itself is picked by a MoveStrategy, which only sees a snapshot of the board
+ */
+public class ComputerPlayer extends Player {
+
+    public static final String COMPUTER_IMAGE = "/game/resources/Robot-icon.png";
+    public static final long DEFAULT_THINKING_TIME = 500; //The amount of milliseconds the computer searches for each move
+
+    private GridPaneLogic gridLogic;
+    private volatile Coordinate lastMove; //Written by the search thread
+    private MoveStrategy strategy;
+    private long thinkingTime;
+
+    /***
+     * Constructors for a new player
+     * @param controller The reference to the grid pane logic used in the main game.
+     * The computer is to be able to make references to it in order to get right move
+     */
+    public ComputerPlayer(GridPaneLogic controller) {
+        super("Computer", COMPUTER_IMAGE);
+
+        this.gridLogic = controller;
+        this.thinkingTime = DEFAULT_THINKING_TIME;
+        this.strategy = StrategyRegistry.create(StrategyRegistry.getDefaultName(controller.getDimension()), thinkingTime);
+    }
+
+    /**
+     * Switches the strategy the computer picks its moves with
+     * @param name The name of a strategy in StrategyRegistry
+     */
+    public void setStrategy(String name) {
+        this.strategy = StrategyRegistry.create(name, thinkingTime);
+    }
+
+    /**
+     *
+     * @return the strategy the computer picks its moves with
+     */
+    public MoveStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Sets how long the computer may search for each move. The search deepens until the time is up and
+     * plays the best move of the deepest search it finished, it returns sooner if the game has been solved
+     * @param millis The amount of milliseconds, 0 for no limit
+     */
+    public void setThinkingTime(long millis) {
+        this.thinkingTime = millis;
+        this.strategy = StrategyRegistry.create(strategy.getName(), millis);
+    }
+
+    /***
+     * Generates a random message to show player1 when the computer has won the game
+     * @return a random message when the computer has won the game
+     */
+    public String getEndGameMessage(){
+
+        //Array of words to pick from
+        String words[] =  new String[] {"The computer has won this round. Step your game up!",
+                "It looks like you've been beaten by a computer. How does that feel?",
+                "Seems like the computer has won this round. Better luck next time",
+                "Keep your eyes peeled next time. The computer has won this round!",
+        };
+
+        //Randomly selects a message to display when the player looses to the computer
+        return words[new Random().nextInt(words.length)];
+    }
+
+    /**
+     *
+     * @return the last move played by the computer
+     */
+    public Coordinate getLastMove() {
+        return lastMove;
+    }
+
+    /**
+     * Searches for the computers next move in the background. Call it on the JavaFX thread: the board is
+     * snapshotted here and the search only ever reads the snapshot, never the grid pane
+     * @param executor The executor to search on
+     * @return the computers next move, to be played on the JavaFX thread. Cancelling it stops the search
+     */
+    public CompletableFuture<Coordinate> requestNextMove(AiExecutor executor) {
+
+        BoardSnapshot snapshot = gridLogic.getSnapshot();
+        MoveStrategy searching = strategy;
+
+        return executor.submit(() -> getNextMove(searching, snapshot), searching::stop, searching::resetStop);
+    }
+
+    /**
+     * Picks the computers move. It only reads the snapshot so it's safe to run on any thread
+     * @param strategy The strategy to pick the move with
+     * @param snapshot The board to pick the move on
+     * @return the computers next move
+     */
+    private Coordinate getNextMove(MoveStrategy strategy, BoardSnapshot snapshot) {
+
+        MoveResult result = strategy.selectMove(snapshot, Board.PLAYER_TWO);
+
+        int cell = result.getMove();
+        lastMove = new Coordinate(snapshot.column(cell), snapshot.row(cell));
+
+        return lastMove;
+    }
+}
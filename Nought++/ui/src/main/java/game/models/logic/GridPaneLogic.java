@@ -0,0 +1,420 @@
+package game.models.logic;
+
+import game.models.engine.Board;
+import game.models.engine.BoardSnapshot;
+import game.models.engine.WinLines;
+import game.models.model.CellButton;
+import game.models.model.Coordinate;
+import game.models.model.GameState;
+import game.models.model.Status;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.Timeline;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+import javafx.geometry.Insets;
+import javafx.scene.effect.GaussianBlur;
+import javafx.scene.effect.Glow;
+import javafx.scene.layout.ColumnConstraints;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.RowConstraints;
+import javafx.util.Duration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Handles all the logic of the grid pane view. The state of the game lives in a headless Board,
+ * the grid pane only mirrors it
+ */
+public class GridPaneLogic {
+
+    private final GridPane GRID_PANE; //This grid pane that is associated with this object
+    private final int GRID_DIMENSION; //The dimension the grid pane is to be
+    private final int AMOUNT_NEEDED_TO_WIN; //The amount of buttons that have to be linked with the same player before the player can win
+    private final List<Timeline> ANIMATION_TIMELINE; //An array of animation objects. This is used to animate the winning buttons
+    private final Board BOARD; //The headless model of the grid that all the rules queries are answered from
+    private final WinLines WIN_LINES; //Every line that wins the game for this dimension and amount needed to win
+    private final Player[] SIDE_PLAYERS; //The player that has played for each side of the board
+    private final CellButton[] CELL_BUTTONS; //Every button in the grid pane indexed by its cell, row * dimension + column
+
+    private BoardSnapshot snapshot; //The last snapshot of the board, null once a move has been played since
+
+    /**
+     *
+     * @param gridPane The grid pane to associate this object with
+     * @param gridDimension The dimension the grid pane should be
+     * @param amountToWin The amount needed to be matched for a player to win the game
+     */
+    public GridPaneLogic(GridPane gridPane, int gridDimension, int amountToWin)  {
+
+        this.GRID_PANE = gridPane;
+        this.GRID_DIMENSION = gridDimension;
+        this.AMOUNT_NEEDED_TO_WIN = amountToWin;
+
+        this.ANIMATION_TIMELINE = new ArrayList<>();
+        this.BOARD = new Board(gridDimension, amountToWin);
+        this.WIN_LINES = BOARD.getWinLines();
+        this.SIDE_PLAYERS = new Player[2];
+        this.CELL_BUTTONS = new CellButton[gridDimension * gridDimension];
+
+        initializeGrid();
+    }
+
+    /**
+     *
+     * @return Board dimension
+     */
+    public int getDimension() {
+        return this.GRID_DIMENSION;
+    }
+
+    /**
+     * Gets the number of columns in the GirdPane
+     * @return column count
+     */
+    public int getColumnSize() {
+        return GRID_PANE.getColumnConstraints().size();
+    }
+
+    /**
+     * Gets the number of rows in the GirdPane
+     * @return row count
+     */
+    public int getRowSize() {
+        return GRID_PANE.getRowConstraints().size();
+    }
+
+    /**
+     *
+     * @return Amount needed to win a game
+     */
+    public int getAmountNeededToWin() {
+        return this.AMOUNT_NEEDED_TO_WIN;
+    }
+
+    /**
+     * Gets the grid pane that was initialized in the constructor
+     * @return the grid pane associated with this object
+     */
+    public GridPane getGridPane() {
+        return this.GRID_PANE;
+    }
+
+    /**
+     * Gets the headless board the grid pane mirrors
+     * @return the board associated with this object
+     */
+    public Board getBoard() {
+        return this.BOARD;
+    }
+
+    /**
+     * Gets an immutable copy of the board to hand to the computer. The copy is only taken again once a move
+     * has been played, so asking for it repeatedly doesn't allocate. Only call it on the JavaFX thread,
+     * the snapshot itself can then be read from any thread
+     * @return a snapshot of the current board
+     */
+    public BoardSnapshot getSnapshot() {
+
+        if (snapshot == null)
+            snapshot = new BoardSnapshot(BOARD);
+
+        return snapshot;
+    }
+
+    /**
+     *
+     * @return a reference to a non computer player which is Player1
+     */
+    public Player getPlayer1() {
+        return BOARD.countCells(Board.PLAYER_ONE) > 0 ? SIDE_PLAYERS[Board.PLAYER_ONE] : null;
+    }
+
+    /**
+     * Gets the side of the board a player plays for. The computer is always player two
+     * @param player The player to get the side of
+     * @return the side of the player
+     */
+    private int getSide(Player player) {
+        return player instanceof ComputerPlayer ? Board.PLAYER_TWO : Board.PLAYER_ONE;
+    }
+
+    /**
+     * Associates a player with a button and records the move on the board
+     * @param btn The button that was played on
+     * @param player The player that played on the button, null to free the button
+     */
+    public void setCellOwner(CellButton btn, Player player) {
+
+        int cell = BOARD.cellIndex(btn.getCoordinate().column(), btn.getCoordinate().row());
+
+        if (player == null) {
+            BOARD.remove(cell);
+        } else {
+            int side = getSide(player);
+
+            SIDE_PLAYERS[side] = player;
+            BOARD.place(cell, side);
+        }
+
+        snapshot = null;
+        btn.setAttachedPlayer(player);
+    }
+
+    /**
+     * Initializes the grid pane that was passed in the constructor
+     */
+    private void initializeGrid() {
+
+        GRID_PANE.getColumnConstraints().clear();
+        GRID_PANE.getRowConstraints().clear();
+
+        GRID_PANE.setHgap(5);
+        GRID_PANE.setVgap(5);
+
+        GRID_PANE.setPadding(new Insets(5, 5, 5, 5));
+
+        //Adds the columns and rows depending on the grid dimension
+        for (int i = 0; i < GRID_DIMENSION; i++) {
+            GRID_PANE.getColumnConstraints().add(new ColumnConstraints());
+            GRID_PANE.getRowConstraints().add(new RowConstraints());
+        }
+    }
+
+    /**
+     * Initializes all the buttons in the grid pane and assigns an event to each
+     * @param event The event to assign all the Cell buttons in the grid pane
+     */
+    public void initializeButtons(EventHandler<ActionEvent> event) {
+
+        GRID_PANE.getChildren().clear();
+        BOARD.clear();
+        snapshot = null;
+
+        int rowCount = GRID_PANE.getRowConstraints().size();
+        int columnCount = GRID_PANE.getColumnConstraints().size();
+
+        double estimateButtonWidth = GRID_PANE.getWidth() / rowCount;
+        double estimateButtonHeight = GRID_PANE.getHeight() / columnCount;
+
+        for (int row = 0; row < rowCount; row++) {
+
+            for (int column = 0; column < columnCount; column++) {
+
+                //Creates an instance of the CustomBottom and adds them to the grid pane
+
+                CellButton btn = new CellButton(new Coordinate(column, row));
+
+                //TO get better understanding of the coordinates of the button use commented code below
+                //CellButton btn = new CellButton(new Coordinate(column, row), "C: " + column + " R: " + row);
+
+                btn.setStyle(" -fx-background-radius: 0 ");
+                btn.setPrefSize(estimateButtonWidth, estimateButtonHeight);
+                btn.setOnAction(event);
+
+                //Adds button to grid and indexes it so it can be looked up directly
+                GRID_PANE.add(btn, column, row);
+                CELL_BUTTONS[BOARD.cellIndex(column, row)] = btn;
+            }
+        }
+    }
+
+    /**
+     * Checks if all buttons have been clicked but no one has won
+     * @return boolean resultant of operation
+     */
+    private boolean isGameDrawn() {
+        return BOARD.getMoveCount() == BOARD.getCellCount();
+    }
+
+    /**
+     * Checks the state of the game after a move. Only the lines that pass through the move are checked
+     * since a win can't be made anywhere else
+     * @param lastMove The coordinate of the button that was last played on
+     * @return returns a tuple object(status, winning player, list(of coordinates)
+     * of the result of checking the move
+     */
+    public GameState checkGameState(Coordinate lastMove) {
+
+        int cell = BOARD.cellIndex(lastMove.column(), lastMove.row());
+        int[] winningCells = BOARD.getWinningCells(cell);
+
+        if (winningCells != null) {
+            List<Coordinate> winningCoordinates = new ArrayList<>(winningCells.length);
+
+            for (int c : winningCells)
+                winningCoordinates.add(new Coordinate(BOARD.column(c), BOARD.row(c)));
+
+            return new GameState(Status.GAME_WON, SIDE_PLAYERS[BOARD.getOwner(cell)], winningCoordinates);
+        }
+
+        return new GameState(isGameDrawn() ? Status.GAME_DRAWN : Status.GAME_ONGOING, null, null);
+    }
+
+    /**
+     * Performs a check on the grid pane on all directions
+     * @return returns a tuple object(status, winning player, list(of coordinates)
+     * of the result of checking the grid
+     */
+    public GameState checkGameState() {
+
+        //This method checks if a player has won the game
+        //The function returns GameState object which was an attempt at implementing a tuple
+        //If the game is won it returns the game status, the player that won the game and  coordinates of the buttons that won
+        //Every winning line for this dimension and win length is precomputed, so this works for any size of grid
+
+        for (int side = Board.PLAYER_ONE; side <= Board.PLAYER_TWO; side++) {
+
+            int line = WIN_LINES.findWinningLine(BOARD, side);
+
+            if (line != -1) {
+                List<Coordinate> winningCoordinates = new ArrayList<>(AMOUNT_NEEDED_TO_WIN);
+
+                for (int i = 0; i < AMOUNT_NEEDED_TO_WIN; i++) {
+                    int cell = WIN_LINES.getCell(line, i);
+                    winningCoordinates.add(new Coordinate(BOARD.column(cell), BOARD.row(cell)));
+                }
+
+                return new GameState(Status.GAME_WON, SIDE_PLAYERS[side], winningCoordinates);
+            }
+        }
+
+        return new GameState(isGameDrawn() ? Status.GAME_DRAWN : Status.GAME_ONGOING, null, null);
+    }
+
+    /**
+     * Checks if any of the buttons in the grid pane have been clicked
+     * @return boolean resultant of operation
+     */
+    public boolean noNodesClicked() {
+
+        //Checks if none of the buttons have been clicked yet!
+        return BOARD.isEmpty();
+    }
+
+    /**
+     * Returns CellButton at specific location
+     * @param col The column location of the button
+     * @param row The row location of the button
+     * @return the CellButton that was found, it not found then null is returned
+     */
+    public CellButton getCellButtonAt(int col, int row)   {
+
+        //Button not found
+        if (col < 0 || row < 0 || col >= GRID_DIMENSION || row >= GRID_DIMENSION)
+            return null;
+
+        return CELL_BUTTONS[BOARD.cellIndex(col, row)];
+    }
+
+    /**
+     * Returns CellButton at specific location
+     * @param coords The coordinate of the button to find
+     * @return the CellButton that was found, it not found then null is returned
+     */
+    public CellButton getCellButtonAt(Coordinate coords) {
+        return getCellButtonAt(coords.column(), coords.row());
+    }
+
+    /**
+     * Gets a list of all the coordinates of the buttons that have not been clicked
+     * @return the list of coordinates found
+     */
+    public List<Coordinate> getUnusedCoordinates() {
+
+        List<Coordinate> coordinatesList = new ArrayList<>(BOARD.countFreeCells());
+
+        //Walks the free cells of the board which no player has clicked
+        for (int cell = BOARD.nextFreeCell(0); cell != -1; cell = BOARD.nextFreeCell(cell + 1))
+            coordinatesList.add(new Coordinate(BOARD.column(cell), BOARD.row(cell)));
+
+        return coordinatesList;
+    }
+
+    /**
+     * Animates a group of buttons by their coordinate values
+     * @param coords The list of buttons at a coordinate to animate
+     */
+    public void animateButtons(List<Coordinate> coords) {
+
+        ANIMATION_TIMELINE.clear();
+
+        for (Coordinate c : coords) {
+            CellButton btn = getCellButtonAt(c);
+
+            Glow glow = new Glow();
+            glow.setLevel(1.0);
+
+            //Sets a glow effect to the button
+            btn.getGraphic().setEffect(glow);
+
+            //Creates a timeline animation object that loops 4 ever
+            Timeline timeline = new Timeline();
+            timeline.setCycleCount(Timeline.INDEFINITE);
+            timeline.setAutoReverse(true);
+
+            //Defining of the different frames of the animation timeline
+            KeyValue rotateValue = new KeyValue(btn.getGraphic().rotateProperty(), 20);
+            KeyValue glowValue = new KeyValue(glow.levelProperty(), 0.1);
+            KeyValue rotateValue2 = new KeyValue(btn.getGraphic().rotateProperty(), -20);
+
+            KeyFrame rotateFrame = new KeyFrame(Duration.millis(200), rotateValue);
+            KeyFrame glowFrame = new KeyFrame(Duration.millis(300), glowValue);
+            KeyFrame rotateFrame2 = new KeyFrame(Duration.millis(400), rotateValue2);
+
+            //Add all animation timelines to the timeline object and plays
+            timeline.getKeyFrames().addAll(rotateFrame , glowFrame, rotateFrame2);
+            timeline.play();
+
+            //Add to global list of timelines. This is so, that the animation could later be paused
+            //If the used pauses the game
+            ANIMATION_TIMELINE.add(timeline);
+        }
+    }
+
+    /**
+     * Disables all the nodes under the Grid pane
+     */
+    public void disableAllNodes() {
+        GRID_PANE.getChildren().forEach(n -> n.setDisable(true));
+    }
+
+    /**
+     * Removes the action event for all the nodes so that the user can't click it whilst it's the computers turn
+     */
+    public void removeAllNodesActionEvent() {
+        GRID_PANE.getChildren().forEach(n -> ((CellButton) n).setOnAction(null));
+    }
+
+    /**
+     * Sets an action event to for when a node on the grid pane is clicked
+     * @param event The event to occur when a node is clicked
+     */
+    public void setAllNodesActionEvent(EventHandler<ActionEvent> event) {
+        GRID_PANE.getChildren().forEach(n -> ((CellButton) n).setOnAction(event));
+    }
+
+    /**
+     * Pauses the grid by pausing all the current playing animations setting a blur effect
+     */
+    public void pauseGrid() {
+
+        ANIMATION_TIMELINE.forEach(Animation::pause);
+
+        GRID_PANE.setDisable(true);
+        GRID_PANE.setEffect(new GaussianBlur(10.0));
+    }
+
+    /**
+     * un pauses the grid by resuming the animations and removing blur effect
+     */
+    public void resumeGrid() {
+
+        ANIMATION_TIMELINE.forEach(Animation::play);
+
+        GRID_PANE.setDisable(false);
+        GRID_PANE.setEffect(null);
+    }
+}
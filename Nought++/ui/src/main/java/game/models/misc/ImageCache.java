@@ -0,0 +1,28 @@
+package game.models.misc;
+
+import javafx.scene.image.Image;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Loads each image once and hands out the same instance afterwards, players only keep the url of their image
+ * so the board and the scores don't depend on JavaFX. Only used on the JavaFX application thread
+ */
+public class ImageCache {
+
+    private static final Map<String, Image> IMAGES = new HashMap<>(); //The loaded images by url
+
+    /**
+     * Gets an image, loading it the first time it's asked for
+     * @param url The url of the image, a path starting with / is loaded from the resources
+     * @return the image, or null if the url is null
+     */
+    public static Image get(String url) {
+
+        if (url == null)
+            return null;
+
+        return IMAGES.computeIfAbsent(url, Image::new);
+    }
+}
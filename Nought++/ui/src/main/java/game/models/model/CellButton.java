@@ -1,6 +1,7 @@
 package game.models.model;
 
 import game.models.logic.Player;
+import game.models.misc.ImageCache;
 import javafx.scene.control.Button;
 import javafx.scene.image.ImageView;
 
@@ -8,6 +9,7 @@ public class CellButton extends Button {
 
     private Coordinate coordinate;
     private Player player;
+    private ImageView imageView; //Shows the player's image, created once and reused for every move
 
     /**
      * Constructs the CellButton and associating a coordinate with the button
@@ -54,9 +56,15 @@ public class CellButton extends Button {
         this.setGraphic(null);
 
         //Sets the players image to the button
-        if (player != null && player.getImage() != null) {
+        if (player != null && player.getImageUrl() != null) {
 
-            ImageView imgView  = new ImageView(player.getImage());
+            if (imageView == null)
+                imageView = new ImageView();
+
+            ImageView imgView = imageView;
+            imgView.setImage(ImageCache.get(player.getImageUrl()));
+            imgView.setFitHeight(0);
+            imgView.setFitWidth(0);
 
             //Resizes the image if it's too large to fit the button
 